@@ -0,0 +1,244 @@
+package com.ugrp.javafx.control.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ugrp.javafx.control.breadcrumb.AbstractBreadCrumbsBar;
+import com.ugrp.javafx.control.breadcrumb.ButtonBreadCrumbsBar;
+import com.ugrp.javafx.control.breadcrumb.HyperlinkBreadCrumbsBar;
+
+import javafx.scene.Scene;
+import javafx.scene.control.ButtonBase;
+import javafx.scene.layout.StackPane;
+
+/**
+ * Benchmarks of {@link AbstractBreadCrumbsBar} updates for paths of
+ * different depth.
+ *
+ * @author Oleg Karelin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BreadCrumbsBarBenchmark
+{
+    /**
+     * Type of the benchmarked bar.
+     */
+    public enum BarType
+    {
+        /**
+         * {@link ButtonBreadCrumbsBar}.
+         */
+        BUTTON,
+
+        /**
+         * {@link HyperlinkBreadCrumbsBar}.
+         */
+        HYPERLINK
+    }
+
+    @Param({ "10", "100", "1000", "10000" })
+    private int depth;
+
+    @Param({ "BUTTON", "HYPERLINK" })
+    private BarType barType;
+
+    @Param({ "0", "10000" })
+    private int poolSize;
+
+    private List<String> path;
+
+    private List<String> siblingPath;
+
+    private AbstractBreadCrumbsBar<String> bar;
+
+    /**
+     * Creates a bar in a scene.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        path = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++)
+        {
+            path.add("Item " + i);
+        }
+
+        siblingPath = new ArrayList<>(path);
+        siblingPath.set(depth - 1, "Sibling");
+
+        FxPlatform.start();
+        FxPlatform.run(() -> {
+            bar = barType == BarType.BUTTON
+                ? new ButtonBreadCrumbsBar<>()
+                : new HyperlinkBreadCrumbsBar<>();
+            bar.setPoolSize(poolSize);
+            new Scene(new StackPane(bar));
+        });
+    }
+
+    /**
+     * Sets the whole path to the empty bar.
+     *
+     * @param state
+     *        the empty bar.
+     * @return the bar.
+     */
+    @Benchmark
+    public Object setBreadCrumbs(
+        EmptyBar state)
+    {
+        return FxPlatform.call(() -> {
+            state.bar.setBreadCrumbs(path);
+            return state.bar;
+        });
+    }
+
+    /**
+     * Replaces the path by the sibling path which differs in the last crumb
+     * only.
+     *
+     * @param state
+     *        the filled bar.
+     * @return the bar.
+     */
+    @Benchmark
+    public Object setSiblingBreadCrumbs(
+        FilledBar state)
+    {
+        return FxPlatform.call(() -> {
+            state.bar.setBreadCrumbs(siblingPath);
+            return state.bar;
+        });
+    }
+
+    /**
+     * Builds the path by adding the crumbs one by one to the empty bar.
+     *
+     * @param state
+     *        the empty bar.
+     * @return the bar.
+     */
+    @Benchmark
+    public Object addBreadCrumb(
+        EmptyBar state)
+    {
+        return FxPlatform.call(() -> {
+            for (String item : path)
+            {
+                state.bar.addBreadCrumb(item);
+            }
+
+            return state.bar;
+        });
+    }
+
+    /**
+     * Truncates the path at its middle by a crumb click. The bar is filled
+     * before the click, the fill is measured by
+     * {@link #setBreadCrumbs(EmptyBar)}.
+     *
+     * @param state
+     *        the filled bar.
+     * @return the bar.
+     */
+    @Benchmark
+    public Object bobtail(
+        FilledBar state)
+    {
+        return FxPlatform.call(() -> {
+            state.crumb.fire();
+            return state.bar;
+        });
+    }
+
+    /**
+     * Truncates the path at its middle by the crumb value.
+     *
+     * @param state
+     *        the filled bar.
+     * @return the bar.
+     */
+    @Benchmark
+    public Object navigateTo(
+        FilledBar state)
+    {
+        return FxPlatform.call(() -> {
+            state.bar.navigateTo(path.get(depth / 2));
+            return state.bar;
+        });
+    }
+
+    /**
+     * Bar cleared before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class EmptyBar
+    {
+        private AbstractBreadCrumbsBar<String> bar;
+
+        /**
+         * Clears the bar.
+         *
+         * @param benchmark
+         *        the benchmark state.
+         */
+        @Setup(Level.Invocation)
+        public void clear(
+            BreadCrumbsBarBenchmark benchmark)
+        {
+            FxPlatform.run(() -> {
+                bar = benchmark.bar;
+                bar.setBreadCrumbs(Collections.emptyList());
+            });
+        }
+    }
+
+    /**
+     * Bar filled with the whole path before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class FilledBar
+    {
+        private AbstractBreadCrumbsBar<String> bar;
+
+        private ButtonBase crumb;
+
+        /**
+         * Fills the bar and finds the crumb in the middle of the path.
+         *
+         * @param benchmark
+         *        the benchmark state.
+         */
+        @Setup(Level.Invocation)
+        public void fill(
+            BreadCrumbsBarBenchmark benchmark)
+        {
+            FxPlatform.run(() -> {
+                bar = benchmark.bar;
+                bar.setBreadCrumbs(benchmark.path);
+                crumb = (ButtonBase) bar.getChildren()
+                    .get(bar.getChildren().size() / 2);
+            });
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.ugrp.javafx.control.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ugrp.javafx.control.breadcrumb.ButtonBreadCrumbsBar;
+
+import javafx.scene.control.ButtonBase;
+import javafx.scene.layout.Pane;
+
+/**
+ * {@link ButtonBreadCrumbsBar} navigated through a 2,000-level path. The path
+ * is descended by 20 levels per pulse, ascended back by crumb clicks and then
+ * replaced as a whole every 10 pulses.
+ *
+ * @author Oleg Karelin
+ */
+final class BreadCrumbsNavigationScenario
+implements FrameScenario
+{
+    private static final int DEPTH = 2_000;
+
+    private static final int STEP = 20;
+
+    private static final int PHASE = DEPTH / STEP;
+
+    private final List<String> path = new ArrayList<>(DEPTH);
+
+    private ButtonBreadCrumbsBar<String> bar;
+
+    private int layouts;
+
+    @Override
+    public String getName()
+    {
+        return "breadCrumbsNavigation";
+    }
+
+    @Override
+    public int getFrames()
+    {
+        return 3 * PHASE;
+    }
+
+    @Override
+    public void build(
+        Pane content)
+    {
+        for (int i = 0; i < DEPTH; i++)
+        {
+            path.add("Level " + i);
+        }
+
+        bar = new ButtonBreadCrumbsBar<>()
+        {
+            @Override
+            protected void layoutChildren()
+            {
+                layouts++;
+                super.layoutChildren();
+            }
+        };
+        content.getChildren().setAll(bar);
+    }
+
+    @Override
+    public int getLayouts()
+    {
+        return layouts;
+    }
+
+    @Override
+    public void step(
+        int frame)
+    {
+        if (frame < PHASE)
+        {
+            bar.addBreadCrumbs(path.subList(frame * STEP, (frame + 1) * STEP));
+        }
+        else if (frame < 2 * PHASE)
+        {
+            int crumbs = bar.getChildren().size();
+            if (crumbs > STEP)
+            {
+                ((ButtonBase) bar.getChildren().get(crumbs - STEP - 1)).fire();
+            }
+        }
+        else if (frame % 10 == 0)
+        {
+            bar.setBreadCrumbs(path.subList(0, DEPTH - frame % STEP));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.ugrp.javafx.control.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+/**
+ * Shows a {@link FrameScenario} and records the cost of its pulses. With the
+ * {@code javafx.animation.fullspeed} mode the pulses follow each other
+ * immediately, so the interval between two pulses is the time spent on the
+ * CSS pass, layout and render of the former one.
+ *
+ * @author Oleg Karelin
+ */
+final class FrameRecorder
+extends AnimationTimer
+{
+    private static final int SETTLE_FRAMES = 10;
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private final FrameScenario scenario;
+
+    private final long[] pulseTimes;
+
+    private final CompletableFuture<Map<String, Double>> result =
+        new CompletableFuture<>();
+
+    private int frame = -SETTLE_FRAMES;
+
+    private long lastPulse;
+
+    private long startTime;
+
+    private long startBytes;
+
+    private int startLayouts;
+
+    private FrameRecorder(
+        FrameScenario scenario)
+    {
+        this.scenario = scenario;
+
+        pulseTimes = new long[scenario.getFrames()];
+    }
+
+    /**
+     * Shows the scenario in a new stage and records its pulses.
+     *
+     * @param scenario
+     *        the scenario.
+     * @return the results by name.
+     */
+    static Map<String, Double> record(
+        FrameScenario scenario)
+    {
+        CompletableFuture<Map<String, Double>> result =
+            FxPlatform.call(() -> {
+                StackPane content = new StackPane();
+                scenario.build(content);
+
+                Stage stage = new Stage();
+                stage.setScene(
+                    new Scene(new ScrollPane(content), 1280, 800));
+                stage.show();
+
+                FrameRecorder recorder = new FrameRecorder(scenario);
+                recorder.result.whenComplete((r, e) -> stage.hide());
+                recorder.start();
+
+                return recorder.result;
+            });
+
+        try
+        {
+            return result.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void handle(
+        long now)
+    {
+        try
+        {
+            if (frame > 0)
+            {
+                pulseTimes[frame - 1] = now - lastPulse;
+            }
+            else if (frame == 0)
+            {
+                startTime = now;
+                startBytes = allocatedBytes();
+                startLayouts = scenario.getLayouts();
+            }
+
+            if (frame == pulseTimes.length)
+            {
+                stop();
+                result.complete(results(now));
+                return;
+            }
+
+            if (frame >= 0)
+            {
+                scenario.step(frame);
+            }
+
+            lastPulse = now;
+            frame++;
+        }
+        catch (RuntimeException e)
+        {
+            stop();
+            result.completeExceptionally(e);
+        }
+    }
+
+    private Map<String, Double> results(
+        long now)
+    {
+        final int frames = pulseTimes.length;
+        final double seconds = (now - startTime) / (1000 * NANOS_PER_MILLI);
+        final double bytes = allocatedBytes() - startBytes;
+
+        long[] sorted = pulseTimes.clone();
+        Arrays.sort(sorted);
+
+        final String prefix = scenario.getName() + ".";
+        Map<String, Double> results = new LinkedHashMap<>();
+        results.put(prefix + "pulse.mean",
+            Arrays.stream(sorted).average().orElse(0) / NANOS_PER_MILLI);
+        results.put(prefix + "pulse.p95",
+            sorted[(int) Math.ceil(frames * 0.95) - 1] / NANOS_PER_MILLI);
+        results.put(prefix + "pulse.max",
+            sorted[frames - 1] / NANOS_PER_MILLI);
+        results.put(prefix + "layouts",
+            (double) (scenario.getLayouts() - startLayouts));
+        results.put(prefix + "alloc.kbPerPulse", bytes / 1024 / frames);
+        results.put(prefix + "alloc.mbPerSecond",
+            bytes / (1024 * 1024) / seconds);
+
+        return results;
+    }
+
+    /**
+     * Gets the bytes allocated by all live threads, the rendering thread
+     * included.
+     */
+    private static long allocatedBytes()
+    {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+
+        long bytes = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(
+            threads.getAllThreadIds()))
+        {
+            if (allocated > 0)
+            {
+                bytes += allocated;
+            }
+        }
+
+        return bytes;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ugrp.javafx.control.benchmark;
+
+import javafx.scene.layout.Pane;
+
+/**
+ * Scene driven pulse by pulse by the {@link FrameTimeHarness}.
+ *
+ * @author Oleg Karelin
+ */
+interface FrameScenario
+{
+    /**
+     * Gets the scenario name, used as the key prefix of the results.
+     *
+     * @return the scenario name.
+     */
+    String getName();
+
+    /**
+     * Gets the number of measured pulses.
+     *
+     * @return the number of measured pulses.
+     */
+    int getFrames();
+
+    /**
+     * Fills the content pane. The pane is shown in a scroll pane.
+     *
+     * @param content
+     *        the content pane.
+     */
+    void build(
+        Pane content);
+
+    /**
+     * Gets the number of the layout passes of the nodes changed by the
+     * scenario so far.
+     *
+     * @return the number of the layout passes.
+     */
+    int getLayouts();
+
+    /**
+     * Changes the content at the beginning of the pulse.
+     *
+     * @param frame
+     *        the pulse index, starting from {@code 0}.
+     */
+    void step(
+        int frame);
+}
@@ -0,0 +1,171 @@
+package com.ugrp.javafx.control.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+
+/**
+ * Headless frame-time regression harness. Shows representative scenes on the
+ * Monocle glass platform and records the pulse time, the number of layout
+ * passes and the allocation rate of each of them. The results are compared
+ * with a baseline properties file; the harness exits with status {@code 1}
+ * when a result exceeds its baseline value multiplied by the threshold.
+ * <p>
+ * Usage: {@code FrameTimeHarness <baseline.properties> [--record]}. With
+ * {@code --record} the results are written as the new baseline.</p>
+ * <p>
+ * The baseline contains the compared results and the {@code threshold}
+ * property, a result specific threshold can be set as
+ * {@code <result>.threshold}.</p>
+ *
+ * @author Oleg Karelin
+ */
+public final class FrameTimeHarness
+{
+    private static final String THRESHOLD = "threshold";
+
+    private static final double DEFAULT_THRESHOLD = 1.5;
+
+    private static final List<String> RECORDED_RESULTS = Arrays.asList(
+        "pulse.mean", "pulse.p95", "layouts", "alloc.kbPerPulse");
+
+    private static final List<Supplier<FrameScenario>> SCENARIOS =
+        Arrays.asList(
+            ToggleGridScenario::new,
+            BreadCrumbsNavigationScenario::new);
+
+    private FrameTimeHarness()
+    {
+    }
+
+    /**
+     * Runs the harness.
+     *
+     * @param args
+     *        the baseline file and the optional {@code --record} flag.
+     * @throws IOException
+     *         if the baseline can not be read or written.
+     */
+    public static void main(
+        String[] args)
+    throws IOException
+    {
+        if (args.length == 0)
+        {
+            System.err.println(
+                "Usage: FrameTimeHarness <baseline.properties> [--record]");
+            System.exit(2);
+        }
+
+        final Path baselineFile = Paths.get(args[0]);
+        final boolean record = args.length > 1
+            && ("--record".equals(args[1]) || "--record=true".equals(args[1]));
+
+        System.setProperty("javafx.animation.fullspeed", "true");
+        FxPlatform.start();
+
+        Map<String, Double> results = new LinkedHashMap<>();
+        for (Supplier<FrameScenario> scenario : SCENARIOS)
+        {
+            // The first run warms up the code of the scenario.
+            FrameRecorder.record(scenario.get());
+            results.putAll(FrameRecorder.record(scenario.get()));
+        }
+
+        Platform.exit();
+
+        results.forEach((name, value) ->
+            System.out.printf(Locale.ROOT, "%-45s %12.3f%n", name, value));
+
+        if (record)
+        {
+            writeBaseline(baselineFile, results);
+            System.out.println("Baseline written to " + baselineFile);
+            System.exit(0);
+        }
+
+        List<String> regressions = compare(readBaseline(baselineFile), results);
+        regressions.forEach(System.err::println);
+        System.exit(regressions.isEmpty() ? 0 : 1);
+    }
+
+    private static List<String> compare(
+        Properties baseline,
+        Map<String, Double> results)
+    {
+        final double threshold = Double.parseDouble(baseline.getProperty(
+            THRESHOLD, Double.toString(DEFAULT_THRESHOLD)));
+
+        List<String> regressions = new ArrayList<>();
+        for (String name : baseline.stringPropertyNames())
+        {
+            final Double value = results.get(name);
+            if (value == null)
+            {
+                continue;
+            }
+
+            final double expected = Double.parseDouble(
+                baseline.getProperty(name));
+            final double limit = expected * Double.parseDouble(
+                baseline.getProperty(name + "." + THRESHOLD,
+                    Double.toString(threshold)));
+            if (value > limit)
+            {
+                regressions.add(String.format(Locale.ROOT,
+                    "Regression: %s = %.3f, baseline %.3f, limit %.3f",
+                    name, value, expected, limit));
+            }
+        }
+
+        return regressions;
+    }
+
+    private static Properties readBaseline(
+        Path file)
+    throws IOException
+    {
+        Properties baseline = new Properties();
+        try (InputStream in = Files.newInputStream(file))
+        {
+            baseline.load(in);
+        }
+
+        return baseline;
+    }
+
+    private static void writeBaseline(
+        Path file,
+        Map<String, Double> results)
+    throws IOException
+    {
+        Properties baseline = Files.exists(file)
+            ? readBaseline(file) : new Properties();
+        baseline.putIfAbsent(THRESHOLD, Double.toString(DEFAULT_THRESHOLD));
+
+        results.forEach((name, value) -> {
+            if (RECORDED_RESULTS.stream().anyMatch(name::endsWith))
+            {
+                baseline.setProperty(name, String.format(Locale.ROOT, "%.3f", value));
+            }
+        });
+
+        try (OutputStream out = Files.newOutputStream(file))
+        {
+            baseline.store(out, "Frame-time harness baseline");
+        }
+    }
+}
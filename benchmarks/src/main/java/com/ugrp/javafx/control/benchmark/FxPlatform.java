@@ -0,0 +1,121 @@
+package com.ugrp.javafx.control.benchmark;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import javafx.application.Platform;
+
+/**
+ * Starts the JavaFX toolkit on the headless Monocle glass platform and runs
+ * the benchmarked code on the JavaFX application thread.
+ *
+ * @author Oleg Karelin
+ */
+final class FxPlatform
+{
+    private static boolean started;
+
+    private FxPlatform()
+    {
+    }
+
+    /**
+     * Starts the JavaFX toolkit once. The headless platform is selected
+     * unless the platform properties are set explicitly.
+     */
+    static synchronized void start()
+    {
+        if (started)
+        {
+            return;
+        }
+
+        setDefault("glass.platform", "Monocle");
+        setDefault("monocle.platform", "Headless");
+        setDefault("prism.order", "sw");
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.startup(latch::countDown);
+        try
+        {
+            latch.await();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("JavaFX startup interrupted", e);
+        }
+
+        Platform.setImplicitExit(false);
+        started = true;
+    }
+
+    /**
+     * Runs the task on the JavaFX application thread and waits for it.
+     *
+     * @param task
+     *        the task to run.
+     */
+    static void run(
+        Runnable task)
+    {
+        call(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Calls the task on the JavaFX application thread and waits for its
+     * result.
+     *
+     * @param <V>
+     *        the result type.
+     * @param task
+     *        the task to call.
+     * @return the task result.
+     */
+    static <V> V call(
+        Callable<V> task)
+    {
+        if (Platform.isFxApplicationThread())
+        {
+            try
+            {
+                return task.call();
+            }
+            catch (Exception e)
+            {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        FutureTask<V> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        catch (ExecutionException e)
+        {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static void setDefault(
+        String key,
+        String value)
+    {
+        if (System.getProperty(key) == null)
+        {
+            System.setProperty(key, value);
+        }
+    }
+}
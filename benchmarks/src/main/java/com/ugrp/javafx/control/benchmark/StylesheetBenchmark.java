@@ -0,0 +1,86 @@
+package com.ugrp.javafx.control.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ugrp.javafx.control.StylesheetMode;
+import com.ugrp.javafx.control.togglecheckbox.ToggleCheckBox;
+
+import javafx.scene.Scene;
+import javafx.scene.layout.FlowPane;
+
+/**
+ * Benchmark of the first CSS pass and layout of a scene with many
+ * {@link ToggleCheckBox} controls for each stylesheet registration mode.
+ *
+ * @author Oleg Karelin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StylesheetBenchmark
+{
+    private static final int TOGGLES = 5000;
+
+    @Param({ "USER_AGENT", "INSTANCE" })
+    private StylesheetMode mode;
+
+    /**
+     * Sets the stylesheet mode of the toggles.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        FxPlatform.start();
+        FxPlatform.run(() -> ToggleCheckBox.setStylesheetMode(mode));
+    }
+
+    /**
+     * Restores the default stylesheet mode.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        FxPlatform.run(() -> ToggleCheckBox.setStylesheetMode(
+            StylesheetMode.USER_AGENT));
+    }
+
+    /**
+     * Constructs the toggles, applies CSS to them and lays them out.
+     *
+     * @return the root of the toggles.
+     */
+    @Benchmark
+    public Object firstLayout()
+    {
+        return FxPlatform.call(() -> {
+            FlowPane root = new FlowPane();
+            for (int i = 0; i < TOGGLES; i++)
+            {
+                root.getChildren().add(new ToggleCheckBox("ON", "OFF"));
+            }
+
+            new Scene(root, 1200, 800);
+            root.applyCss();
+            root.layout();
+
+            return root;
+        });
+    }
+}
@@ -0,0 +1,220 @@
+package com.ugrp.javafx.control.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ugrp.javafx.control.togglecheckbox.ToggleCheckBox;
+import com.ugrp.javafx.control.togglecheckbox.ToggleCheckBoxAnimationGovernor;
+import com.ugrp.javafx.control.togglecheckbox.ToggleCheckBoxSkinType;
+
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.layout.VBox;
+
+/**
+ * Benchmarks of {@link ToggleCheckBox} construction, skin creation, layout
+ * and toggling. Every invocation handles a batch of toggles on the JavaFX
+ * application thread, the scores are per toggle.
+ *
+ * @author Oleg Karelin
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToggleCheckBoxBenchmark
+{
+    private static final int BATCH = 100;
+
+    @Param({ "NODES", "CANVAS" })
+    private ToggleCheckBoxSkinType skinType;
+
+    private VBox root;
+
+    private ToggleCheckBox[] toggles;
+
+    private boolean captionSwitch;
+
+    /**
+     * Creates a scene with a batch of toggles.
+     */
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        FxPlatform.start();
+        FxPlatform.run(() -> {
+            ToggleCheckBox.setDefaultSkinType(skinType);
+
+            toggles = new ToggleCheckBox[BATCH];
+            for (int i = 0; i < BATCH; i++)
+            {
+                toggles[i] = new ToggleCheckBox("ON", "OFF");
+            }
+
+            root = new VBox(toggles);
+            new Scene(root);
+            root.applyCss();
+            root.layout();
+        });
+    }
+
+    /**
+     * Restores the default skin type.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        FxPlatform.run(() -> ToggleCheckBox.setDefaultSkinType(
+            ToggleCheckBoxSkinType.NODES));
+    }
+
+    /**
+     * Constructs toggles without skins.
+     *
+     * @return the constructed toggles.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object construct()
+    {
+        return FxPlatform.call(() -> {
+            ToggleCheckBox[] created = new ToggleCheckBox[BATCH];
+            for (int i = 0; i < BATCH; i++)
+            {
+                created[i] = new ToggleCheckBox("ON", "OFF");
+            }
+
+            return created;
+        });
+    }
+
+    /**
+     * Constructs toggles and creates their skins by the first CSS pass.
+     *
+     * @return the root of the constructed toggles.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object constructAndCreateSkin()
+    {
+        return FxPlatform.call(() -> {
+            Group group = new Group();
+            for (int i = 0; i < BATCH; i++)
+            {
+                group.getChildren().add(new ToggleCheckBox("ON", "OFF"));
+            }
+
+            new Scene(group);
+            group.applyCss();
+
+            return group;
+        });
+    }
+
+    /**
+     * Lays out toggles whose size is not changed.
+     *
+     * @return the root of the toggles.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object layout()
+    {
+        return FxPlatform.call(() -> {
+            for (ToggleCheckBox toggle : toggles)
+            {
+                toggle.requestLayout();
+            }
+
+            root.layout();
+
+            return root;
+        });
+    }
+
+    /**
+     * Lays out toggles after their captions are changed.
+     *
+     * @return the root of the toggles.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object layoutChangedCaption()
+    {
+        return FxPlatform.call(() -> {
+            captionSwitch = !captionSwitch;
+            String checkedText = captionSwitch ? "YES" : "ON";
+            for (ToggleCheckBox toggle : toggles)
+            {
+                toggle.setCheckedText(checkedText);
+            }
+
+            root.applyCss();
+            root.layout();
+
+            return root;
+        });
+    }
+
+    /**
+     * Toggles the selection state with animation.
+     *
+     * @return the root of the toggles.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object toggle()
+    {
+        return FxPlatform.call(() -> {
+            for (ToggleCheckBox toggle : toggles)
+            {
+                toggle.setSelected(!toggle.isSelected());
+            }
+
+            return root;
+        });
+    }
+
+    /**
+     * Toggles the selection state without animation.
+     *
+     * @return the root of the toggles.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public Object toggleReducedMotion()
+    {
+        return FxPlatform.call(() -> {
+            ToggleCheckBoxAnimationGovernor.setReducedMotion(true);
+            try
+            {
+                for (ToggleCheckBox toggle : toggles)
+                {
+                    toggle.setSelected(!toggle.isSelected());
+                }
+            }
+            finally
+            {
+                ToggleCheckBoxAnimationGovernor.setReducedMotion(false);
+            }
+
+            return root;
+        });
+    }
+}
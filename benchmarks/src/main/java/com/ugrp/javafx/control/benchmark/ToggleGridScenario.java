@@ -0,0 +1,97 @@
+package com.ugrp.javafx.control.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ugrp.javafx.control.togglecheckbox.ToggleCheckBox;
+import com.ugrp.javafx.control.togglecheckbox.ToggleCheckBoxBulkSelection;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.TilePane;
+
+/**
+ * Grid of 5,000 toggles. All toggles are switched at once
+ * every 30 pulses, the visible ones slide in between.
+ *
+ * @author Oleg Karelin
+ */
+final class ToggleGridScenario
+implements FrameScenario
+{
+    private static final int TOGGLES = 5_000;
+
+    private static final int COLUMNS = 20;
+
+    private static final int TOGGLE_PERIOD = 30;
+
+    private final List<ToggleCheckBox> toggles = new ArrayList<>(TOGGLES);
+
+    private boolean selected;
+
+    private int layouts;
+
+    @Override
+    public String getName()
+    {
+        return "toggleGrid";
+    }
+
+    @Override
+    public int getFrames()
+    {
+        return 300;
+    }
+
+    @Override
+    public void build(
+        Pane content)
+    {
+        TilePane grid = new TilePane();
+        grid.setPrefColumns(COLUMNS);
+        for (int i = 0; i < TOGGLES; i++)
+        {
+            toggles.add(new CountingToggle("ON " + i % 10, "OFF"));
+        }
+        grid.getChildren().setAll(toggles);
+
+        content.getChildren().setAll(grid);
+    }
+
+    @Override
+    public int getLayouts()
+    {
+        return layouts;
+    }
+
+    @Override
+    public void step(
+        int frame)
+    {
+        if (frame % TOGGLE_PERIOD == 0)
+        {
+            selected = !selected;
+            ToggleCheckBoxBulkSelection.setSelected(toggles, selected);
+        }
+    }
+
+    /**
+     * Toggle which counts its layout passes.
+     */
+    private final class CountingToggle
+    extends ToggleCheckBox
+    {
+        CountingToggle(
+            String checkedCaption,
+            String uncheckedCaption)
+        {
+            super(checkedCaption, uncheckedCaption);
+        }
+
+        @Override
+        protected void layoutChildren()
+        {
+            layouts++;
+            super.layoutChildren();
+        }
+    }
+}
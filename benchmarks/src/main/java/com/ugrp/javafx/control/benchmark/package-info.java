@@ -0,0 +1,4 @@
+/**
+ * Package contains JMH benchmarks of the Java-FX controls.
+ */
+package com.ugrp.javafx.control.benchmark;
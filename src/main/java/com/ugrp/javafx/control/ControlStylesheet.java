@@ -0,0 +1,149 @@
+package com.ugrp.javafx.control;
+
+import java.net.URL;
+import java.util.Objects;
+
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+/**
+ * Stylesheet of a control class. Resolves the stylesheet URL once and
+ * registers it according to the current {@link StylesheetMode}. The binary
+ * form of the stylesheet ({@code .bss}) precompiled by the build is preferred
+ * to the text one, so the stylesheet is not parsed at runtime.
+ *
+ * @author Oleg Karelin
+ */
+public final class ControlStylesheet
+{
+    private static final String TEXT_EXTENSION = ".css";
+
+    private static final String BINARY_EXTENSION = ".bss";
+
+    private final Class<?> owner;
+
+    private final String name;
+
+    private volatile String url;
+
+    private volatile StylesheetMode mode;
+
+    /**
+     * Creates a stylesheet of a control class.
+     *
+     * @param owner
+     *        the class which the stylesheet resource belongs to.
+     * @param name
+     *        the stylesheet resource name relative to the owner class, the
+     *        binary form is looked up with the {@code .bss} extension.
+     */
+    public ControlStylesheet(
+        Class<?> owner,
+        String name)
+    {
+        this.owner = Objects.requireNonNull(owner);
+        this.name = Objects.requireNonNull(name);
+
+        mode = StylesheetMode.USER_AGENT;
+    }
+
+    /**
+     * Gets the stylesheet URL. The URL of the binary form is returned if it
+     * exists.
+     *
+     * @return the stylesheet URL.
+     */
+    public String getUrl()
+    {
+        String result = url;
+        if (result == null)
+        {
+            result = resolve().toExternalForm();
+            url = result;
+        }
+
+        return result;
+    }
+
+    private URL resolve()
+    {
+        if (name.endsWith(TEXT_EXTENSION))
+        {
+            URL binary = owner.getResource(name.substring(
+                0, name.length() - TEXT_EXTENSION.length()) + BINARY_EXTENSION);
+            if (binary != null)
+            {
+                return binary;
+            }
+        }
+
+        return owner.getResource(name);
+    }
+
+    /**
+     * Gets the stylesheet registration mode.
+     *
+     * @return the stylesheet registration mode.
+     */
+    public StylesheetMode getMode()
+    {
+        return mode;
+    }
+
+    /**
+     * Sets the stylesheet registration mode. The mode affects controls created
+     * after the change.
+     *
+     * @param mode
+     *        the stylesheet registration mode.
+     */
+    public void setMode(
+        StylesheetMode mode)
+    {
+        this.mode = Objects.requireNonNull(mode);
+    }
+
+    /**
+     * Registers the stylesheet for the created control. Does nothing unless
+     * the mode is {@link StylesheetMode#INSTANCE}.
+     *
+     * @param control
+     *        the created control.
+     */
+    public void register(
+        Parent control)
+    {
+        if (mode == StylesheetMode.INSTANCE)
+        {
+            control.getStylesheets().add(getUrl());
+        }
+    }
+
+    /**
+     * Gets the user agent stylesheet URL for the controls.
+     *
+     * @return the stylesheet URL if the mode is
+     *         {@link StylesheetMode#USER_AGENT}, {@code null} otherwise.
+     */
+    public String getUserAgentStylesheet()
+    {
+        return mode == StylesheetMode.USER_AGENT ? getUrl() : null;
+    }
+
+    /**
+     * Installs the stylesheet into the scene stylesheets if it is not
+     * installed yet.
+     *
+     * @param scene
+     *        the scene.
+     */
+    public void install(
+        Scene scene)
+    {
+        String stylesheet = getUrl();
+        if (!scene.getStylesheets().contains(stylesheet))
+        {
+            scene.getStylesheets().add(stylesheet);
+        }
+    }
+}
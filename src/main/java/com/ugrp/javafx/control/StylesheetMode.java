@@ -0,0 +1,26 @@
+package com.ugrp.javafx.control;
+
+/**
+ * Determines how the stylesheet of a control is registered.
+ *
+ * @author Oleg Karelin
+ */
+public enum StylesheetMode
+{
+    /**
+     * The stylesheet is returned as the user agent stylesheet of each control.
+     * The stylesheet is loaded once and is shared by all controls.
+     */
+    USER_AGENT,
+
+    /**
+     * The stylesheet is not registered by the controls. It should be installed
+     * once into the scene stylesheets by the application.
+     */
+    SCENE,
+
+    /**
+     * The stylesheet is added to the own stylesheets of each control.
+     */
+    INSTANCE
+}
@@ -1,114 +1,1154 @@
 package com.ugrp.javafx.control.breadcrumb;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
+import com.ugrp.javafx.control.ControlStylesheet;
+import com.ugrp.javafx.control.StylesheetMode;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import javafx.event.ActionEvent;
 import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Labeled;
+import javafx.scene.image.Image;
 import javafx.scene.layout.HBox;
 
-/**
- * Common part of BreadCrumbsBar implementation.
- *
- * @param <T>
- *        a control value type.
- * @author Oleg Karelin
- */
-public abstract class AbstractBreadCrumbsBar<T>
-extends HBox
-{
-    private final ObjectProperty<Function<T, String>> textFunction;
+/**
+ * Common part of BreadCrumbsBar implementation.
+ * <p>
+ * The path is the observable list of the items: the bar methods change the
+ * items, and the changes of the items made by the application are translated
+ * into insertions and removals of the changed crumbs. The children of the bar
+ * are managed by the bar: the crumbs and the separators should be changed
+ * through the items or the bar methods only.</p>
+ *
+ * @param <T>
+ *        a control value type.
+ * @author Oleg Karelin
+ */
+public abstract class AbstractBreadCrumbsBar<T>
+extends HBox
+{
+    private static final ControlStylesheet STYLESHEET = new ControlStylesheet(
+        AbstractBreadCrumbsBar.class, "bread-crumbs-bar.css");
+
+    private final ObjectProperty<Function<T, String>> textFunction;
+
+    private final ObjectProperty<Function<T, Node>> graphicFunction;
+
+    private final ObjectProperty<Consumer<T>> onActionConsumer;
+
+    private final ObjectProperty<Supplier<Node>> separatorSupplier;
+
+    private final BooleanProperty collapsing;
+
+    private final ObjectProperty<Function<T, Image>> imageProvider;
+
+    private final ObjectProperty<Executor> imageExecutor;
+
+    private final ObjectProperty<Image> placeholderImage;
+
+    /**
+     * Graphic function of the crumbs: the graphic function of the bar or the
+     * asynchronous image loading if the bar has an image provider.
+     */
+    private final ObjectProperty<Function<T, Node>> crumbGraphicFunction;
+
+    private final BreadCrumbImageLoader<T> imageLoader =
+        new BreadCrumbImageLoader<>(this::imageLoaded);
+
+    /**
+     * Values of the crumbs in the path order.
+     */
+    private final ObjectProperty<ObservableList<T>> items;
+
+    private final ListChangeListener<T> itemsListener = this::itemsChanged;
+
+    private final WeakListChangeListener<T> weakItemsListener =
+        new WeakListChangeListener<>(itemsListener);
+
+    /**
+     * Current items list.
+     */
+    private ObservableList<T> values;
+
+    private List<T> unmodifiableValues;
+
+    /**
+     * Index of the first crumb of each value in the path.
+     */
+    private final Map<T, Integer> firstIndices = new HashMap<>();
+
+    /**
+     * Number of the crumbs shown by the children, follows the items through
+     * their changes.
+     */
+    private int crumbCount;
+
+    /**
+     * Determines if the crumbs after the first one are preceded by
+     * separators, so the crumb with index {@code i} is the child
+     * {@code 2 * i}.
+     */
+    private boolean separated;
+
+    /**
+     * Update event of the bar method or of the items change in progress.
+     */
+    private BreadCrumbsUpdateEvent event;
+
+    private int eventCrumbsCreated;
+
+    private int eventNodesRemoved;
+
+    private final Deque<Labeled> crumbPool = new ArrayDeque<>();
+
+    private final Deque<Node> separatorPool = new ArrayDeque<>();
+
+    private int poolSize;
+
+    private long poolHits;
+
+    private long poolMisses;
+
+    private BreadCrumbsCollapser<T> collapser;
+
+    /**
+     * Creates a breadcrumbs navigation bar.
+     */
+    public AbstractBreadCrumbsBar()
+    {
+        textFunction = new SimpleObjectProperty<>(Object::toString);
+        graphicFunction = new SimpleObjectProperty<>(t -> null);
+        onActionConsumer = new SimpleObjectProperty<>(t -> { });
+        separatorSupplier = new SimpleObjectProperty<>(null);
+        collapsing = new SimpleBooleanProperty(false);
+        imageProvider = new SimpleObjectProperty<>(null);
+        imageExecutor = new SimpleObjectProperty<>(null);
+        placeholderImage = new SimpleObjectProperty<>(null);
+        items = new SimpleObjectProperty<>(FXCollections.observableArrayList());
+
+        values = items.get();
+        values.addListener(weakItemsListener);
+        unmodifiableValues = Collections.unmodifiableList(values);
+
+        crumbGraphicFunction = new SimpleObjectProperty<>();
+        crumbGraphicFunction.bind(Bindings.createObjectBinding(
+            this::createCrumbGraphicFunction, graphicFunction, imageProvider,
+            imageExecutor, placeholderImage));
+
+        // Pooled separators were created by the previous supplier.
+        separatorSupplier.addListener(observable -> {
+            separatorPool.clear();
+            if (collapser != null)
+            {
+                collapser.separatorsChanged();
+            }
+            else
+            {
+                rebuildChildren();
+            }
+        });
+        textFunction.addListener(observable -> updateCrumbs(true, false));
+        crumbGraphicFunction.addListener(
+            observable -> updateCrumbs(false, true));
+        imageProvider.addListener(observable -> imageLoader.clear());
+        collapsing.addListener(observable -> updateCollapsing());
+        items.addListener(observable -> itemsReplaced());
+
+        addEventHandler(ActionEvent.ACTION, this::handleCrumbAction);
+
+        STYLESHEET.register(this);
+
+        getStyleClass().add("bread-crumbs-bar");
+    }
+
+    /**
+     * Gets the registration mode of the bar stylesheet.
+     *
+     * @return the registration mode of the bar stylesheet.
+     */
+    public static StylesheetMode getStylesheetMode()
+    {
+        return STYLESHEET.getMode();
+    }
+
+    /**
+     * Sets the registration mode of the bar stylesheet. By default the
+     * stylesheet is shared as the user agent stylesheet of the bars. The mode
+     * affects bars created after the change.
+     *
+     * @param mode
+     *        the registration mode of the bar stylesheet.
+     */
+    public static void setStylesheetMode(
+        StylesheetMode mode)
+    {
+        STYLESHEET.setMode(mode);
+    }
+
+    /**
+     * Installs the bar stylesheet into the scene stylesheets. Should be used
+     * with the {@link StylesheetMode#SCENE} mode.
+     *
+     * @param scene
+     *        the scene.
+     */
+    public static void installStylesheet(
+        Scene scene)
+    {
+        STYLESHEET.install(scene);
+    }
+
+    @Override
+    public String getUserAgentStylesheet()
+    {
+        return STYLESHEET.getUserAgentStylesheet();
+    }
+
+    @Override
+    protected void layoutChildren()
+    {
+        if (collapser != null)
+        {
+            collapser.update();
+        }
+
+        super.layoutChildren();
+    }
+
+    @Override
+    protected double computeMinWidth(
+        double height)
+    {
+        if (collapser != null)
+        {
+            return collapser.computeMinWidth();
+        }
+
+        return super.computeMinWidth(height);
+    }
+
+    @Override
+    protected double computePrefWidth(
+        double height)
+    {
+        // The collapsing mode measures only the crumbs it can show.
+        if (collapser != null)
+        {
+            return collapser.computePrefWidth();
+        }
+
+        return super.computePrefWidth(height);
+    }
+
+    /**
+     * Gets the width a crumb overlaps the adjacent previous crumb with.
+     *
+     * @param height
+     *        the crumb height.
+     * @return the overlap width, {@code 0} by default.
+     */
+    double getCrumbOverlap(
+        double height)
+    {
+        return 0;
+    }
+
+    private Function<T, Node> createCrumbGraphicFunction()
+    {
+        final Function<T, Image> provider = imageProvider.get();
+        if (provider == null)
+        {
+            return graphicFunction.get();
+        }
+
+        final Executor executor = imageExecutor.get() != null
+            ? imageExecutor.get() : BreadCrumbImageLoader.getDefaultExecutor();
+        final Image placeholder = placeholderImage.get();
+
+        return value -> imageLoader.getGraphic(
+            value, provider, executor, placeholder);
+    }
+
+    /**
+     * Gets the graphic function of the crumbs.
+     *
+     * @return the graphic function of the crumbs.
+     */
+    Function<T, Node> getCrumbGraphicFunction()
+    {
+        return crumbGraphicFunction.get();
+    }
+
+    private void imageLoaded(
+        T value)
+    {
+        if (collapser != null)
+        {
+            collapser.invalidateWidth(value);
+        }
+    }
+
+    private void invalidateWidths()
+    {
+        if (collapser != null)
+        {
+            collapser.invalidateWidths();
+        }
+    }
+
+    /**
+     * Rebuilds the children of the bar for the current mode.
+     */
+    private void updateCollapsing()
+    {
+        if (isCollapsing() == (collapser != null))
+        {
+            return;
+        }
+
+        if (collapser != null)
+        {
+            collapser.removeAfter(-1);
+            collapser.dispose();
+            collapser = null;
+            rebuildChildren();
+        }
+        else
+        {
+            releaseChildren();
+            getChildren().clear();
+            collapser = new BreadCrumbsCollapser<>(this);
+            requestLayout();
+        }
+    }
+
+    /**
+     * Recreates all children of the bar in the normal mode, so the crumbs are
+     * separated by the nodes of the current separator supplier.
+     */
+    private void rebuildChildren()
+    {
+        releaseChildren();
+        getChildren().clear();
+        separatorPool.clear();
+
+        separated = getSeparatorSupplier() != null;
+        crumbCount = 0;
+        insertCrumbs(0, values.size());
+    }
+
+    /**
+     * Puts the managed crumbs of the children into the node pool while it has
+     * room. The separators are not pooled, they may be created by the
+     * previous supplier.
+     */
+    private void releaseChildren()
+    {
+        if (poolSize == 0)
+        {
+            return;
+        }
+
+        for (Node child : getChildren())
+        {
+            releaseCrumb(child);
+        }
+    }
+
+    /**
+     * Switches the bar to a new items list.
+     */
+    private void itemsReplaced()
+    {
+        final ObservableList<T> newValues = items.get();
+        if (newValues == null)
+        {
+            items.set(FXCollections.observableArrayList());
+            return;
+        }
+
+        if (newValues == values)
+        {
+            return;
+        }
+
+        values.removeListener(weakItemsListener);
+        values = newValues;
+        values.addListener(weakItemsListener);
+        unmodifiableValues = Collections.unmodifiableList(values);
+
+        firstIndices.clear();
+        indexValues(0, Collections.emptyList());
+
+        if (collapser != null)
+        {
+            collapser.removeAfter(-1);
+            crumbCount = values.size();
+            requestLayout();
+        }
+        else
+        {
+            rebuildChildren();
+        }
+    }
+
+    /**
+     * Translates the changes of the items into insertions and removals of
+     * the crumbs and separators of the changed ranges. The crumbs outside of
+     * the ranges are kept, only their indices are shifted.
+     *
+     * @param change
+     *        the change of the items.
+     */
+    private void itemsChanged(
+        ListChangeListener.Change<? extends T> change)
+    {
+        final boolean ownEvent = beginEvent();
+
+        int from = Integer.MAX_VALUE;
+        int shiftedFrom = Integer.MAX_VALUE;
+        final List<T> removedValues = new ArrayList<>();
+
+        while (change.next())
+        {
+            final int changeFrom = change.getFrom();
+            from = Math.min(from, changeFrom);
+
+            if (change.wasPermutated() || change.wasUpdated())
+            {
+                replaceCrumbs(changeFrom, change.getTo());
+                continue;
+            }
+
+            final int removedSize = change.getRemovedSize();
+            final int addedSize = change.getAddedSize();
+            final int replacedTo =
+                changeFrom + Math.min(removedSize, addedSize);
+            if (removedSize != addedSize)
+            {
+                shiftedFrom = Math.min(shiftedFrom, replacedTo);
+            }
+
+            removedValues.addAll(change.getRemoved());
+
+            replaceCrumbs(changeFrom, replacedTo);
+            if (removedSize > addedSize)
+            {
+                removeCrumbs(replacedTo, changeFrom + removedSize);
+            }
+            if (addedSize > removedSize)
+            {
+                insertCrumbs(replacedTo, changeFrom + addedSize);
+            }
+        }
+
+        if (from != Integer.MAX_VALUE)
+        {
+            indexValues(from, removedValues);
+
+            if (collapser != null)
+            {
+                eventNodesRemoved += collapser.removeAfter(from - 1);
+                requestLayout();
+            }
+            else
+            {
+                reindexCrumbs(shiftedFrom);
+            }
+        }
+
+        if (ownEvent)
+        {
+            commitEvent(BreadCrumbsUpdateEvent.ITEMS);
+        }
+    }
+
+    /**
+     * Updates the index of the first crumb of the values after a change of
+     * the items.
+     *
+     * @param from
+     *        the index of the first changed crumb.
+     * @param removedValues
+     *        the removed values.
+     */
+    private void indexValues(
+        int from,
+        List<T> removedValues)
+    {
+        for (T value : removedValues)
+        {
+            removeFirstIndex(value, from);
+        }
+
+        final int size = values.size();
+        for (int i = from; i < size; i++)
+        {
+            removeFirstIndex(values.get(i), from);
+        }
+        for (int i = from; i < size; i++)
+        {
+            firstIndices.putIfAbsent(values.get(i), i);
+        }
+    }
+
+    private void removeFirstIndex(
+        T value,
+        int from)
+    {
+        final Integer firstIndex = firstIndices.get(value);
+        if (firstIndex != null && firstIndex >= from)
+        {
+            firstIndices.remove(value);
+        }
+    }
+
+    /**
+     * Gets the index of the first child of the crumb: its separator or the
+     * crumb itself.
+     *
+     * @param index
+     *        the crumb index.
+     * @return the index of the first child of the crumb.
+     */
+    private int childIndex(
+        int index)
+    {
+        return separated && index > 0 ? 2 * index - 1 : index;
+    }
+
+    private int crumbChildIndex(
+        int index)
+    {
+        return separated ? 2 * index : index;
+    }
+
+    /**
+     * Inserts the crumbs of the added items and their separators as one range
+     * of the children.
+     *
+     * @param from
+     *        the index of the first added crumb.
+     * @param to
+     *        the index after the last added crumb.
+     */
+    private void insertCrumbs(
+        int from,
+        int to)
+    {
+        final int shownCount = crumbCount;
+        crumbCount += to - from;
+        if (collapser != null)
+        {
+            return;
+        }
+
+        final List<Node> nodes = new ArrayList<>(
+            separated ? 2 * (to - from) : to - from);
+        for (int i = from; i < to; i++)
+        {
+            if (separated && i > 0)
+            {
+                nodes.add(acquireSeparator());
+            }
+
+            nodes.add(acquireCrumb(i));
+        }
+
+        // The former first crumb gets a separator.
+        if (separated && from == 0 && shownCount > 0)
+        {
+            nodes.add(acquireSeparator());
+        }
+
+        getChildren().addAll(childIndex(from), nodes);
+        eventCrumbsCreated += to - from;
+    }
+
+    /**
+     * Removes the crumbs of the removed items and their separators as one
+     * range of the children.
+     *
+     * @param from
+     *        the index of the first removed crumb.
+     * @param to
+     *        the index after the last removed crumb.
+     */
+    private void removeCrumbs(
+        int from,
+        int to)
+    {
+        final int shownCount = crumbCount;
+        crumbCount -= to - from;
+        if (collapser != null)
+        {
+            return;
+        }
+
+        final ObservableList<Node> children = getChildren();
+        final int start = childIndex(from);
+        int end = to < shownCount ? childIndex(to) : children.size();
+
+        // The crumb which becomes the first one loses its separator.
+        if (separated && from == 0 && to < shownCount)
+        {
+            end++;
+        }
+
+        if (poolSize > 0)
+        {
+            for (int i = start; i < end; i++)
+            {
+                final Node child = children.get(i);
+                if (separated && i % 2 == 1)
+                {
+                    releaseSeparator(child);
+                }
+                else
+                {
+                    releaseCrumb(child);
+                }
+            }
+        }
+
+        children.remove(start, end);
+        eventNodesRemoved += end - start;
+    }
+
+    /**
+     * Binds the crumbs of the replaced items to their new values in place.
+     *
+     * @param from
+     *        the index of the first replaced crumb.
+     * @param to
+     *        the index after the last replaced crumb.
+     */
+    private void replaceCrumbs(
+        int from,
+        int to)
+    {
+        if (collapser != null)
+        {
+            for (int i = from; i < to; i++)
+            {
+                collapser.invalidateWidth(values.get(i));
+            }
+            return;
+        }
+
+        final List<Node> children = getChildren();
+        for (int i = from; i < to; i++)
+        {
+            final int childIndex = crumbChildIndex(i);
+            final Labeled crumb = managedCrumb(children.get(childIndex));
+            if (crumb != null)
+            {
+                bindCrumb(crumb, i, values.get(i));
+            }
+            else
+            {
+                children.set(childIndex, acquireCrumb(i));
+                eventCrumbsCreated++;
+                eventNodesRemoved++;
+            }
+        }
+    }
+
+    /**
+     * Updates the indices of the managed crumbs shifted by the insertions and
+     * removals.
+     *
+     * @param from
+     *        the index of the first shifted crumb.
+     */
+    private void reindexCrumbs(
+        int from)
+    {
+        final List<Node> children = getChildren();
+        for (int i = from; i < crumbCount; i++)
+        {
+            final Labeled crumb =
+                managedCrumb(children.get(crumbChildIndex(i)));
+            if (crumb != null && BreadCrumb.getIndex(crumb) != i)
+            {
+                BreadCrumb.rebind(crumb, i, BreadCrumb.getValue(crumb));
+            }
+        }
+    }
+
+    /**
+     * Creates button UI-control for breadcrumbs navigation bar. The text, the
+     * graphic and the action of the {@link ButtonBreadCrumb} and
+     * {@link HyperlinkBreadCrumb} controls created without the functions are
+     * managed by the bar: it updates all of them in one pass when a function
+     * changes and handles their actions by a single handler. The images of
+     * the image provider are set by the bar to the managed controls only.
+     *
+     * @param item
+     *        the control value.
+     * @param textFunction
+     *        function for get display control text for current control value.
+     * @param graphicFunction
+     *        function for get control graphic for current control value.
+     * @param onActionConsumer
+     *        control value onAction consumer.
+     * @param isFirst
+     *        determines if it control is a first button on the bar.
+     * @return UI-control item for breadcrumbs navigation bar.
+     */
+    protected abstract Node createBreadCrumb(
+        T item,
+        ObjectProperty<Function<T, String>> textFunction,
+        ObjectProperty<Function<T, Node>> graphicFunction,
+        BiConsumer<T, Node> onActionConsumer,
+        boolean isFirst);
+
+    /**
+     * Adds to the bar a new UI-control for specified item.
+     *
+     * @param item
+     *        item to add.
+     */
+    public void addBreadCrumb(
+        T item)
+    {
+        values.add(item);
+    }
+
+    /**
+     * Gets the UI-control for the crumb with the specified index, a pooled
+     * one if available.
+     *
+     * @param index
+     *        the crumb index.
+     * @return the UI-control of the crumb.
+     */
+    Node acquireCrumb(
+        int index)
+    {
+        final T item = values.get(index);
+
+        Labeled crumb = crumbPool.poll();
+        final Node node;
+        if (crumb != null)
+        {
+            poolHits++;
+            node = crumb;
+        }
+        else
+        {
+            if (poolSize > 0)
+            {
+                poolMisses++;
+            }
+
+            node = createBreadCrumb(
+                item,
+                textFunction,
+                graphicFunction,
+                (t, n) -> crumbAction(indexOfCrumb(n), t),
+                index == 0);
+            crumb = managedCrumb(node);
+        }
+
+        if (crumb != null)
+        {
+            bindCrumb(crumb, index, item);
+        }
+
+        return node;
+    }
+
+    private void bindCrumb(
+        Labeled crumb,
+        int index,
+        T item)
+    {
+        BreadCrumb.rebind(crumb, index, item);
+        crumb.setText(textFunction.get().apply(item));
+        crumb.setGraphic(crumbGraphicFunction.get().apply(item));
+    }
+
+    /**
+     * Creates the UI-control which measures the crumbs which are not shown in
+     * the collapsing mode. The control is not bound to the action handling.
+     *
+     * @param index
+     *        the index of the first measured crumb.
+     * @return the UI-control of the crumb.
+     */
+    Node createMeasuringCrumb(
+        int index)
+    {
+        return createBreadCrumb(
+            values.get(index),
+            textFunction,
+            graphicFunction,
+            (t, n) -> { },
+            index == 0);
+    }
+
+    /**
+     * Binds the measuring crumb to the crumb with the specified index. Unlike
+     * a shown crumb it gets the cached image or the placeholder, so the
+     * measuring does not start the image load.
+     *
+     * @param crumb
+     *        the measuring crumb.
+     * @param index
+     *        the index of the measured crumb.
+     */
+    void bindMeasuringCrumb(
+        Labeled crumb,
+        int index)
+    {
+        final T item = values.get(index);
+        final Function<T, Image> provider = imageProvider.get();
+
+        BreadCrumb.rebind(crumb, index, item);
+        crumb.setText(textFunction.get().apply(item));
+        crumb.setGraphic(provider == null
+            ? graphicFunction.get().apply(item)
+            : imageLoader.getMeasuringGraphic(
+                item, provider, placeholderImage.get()));
+    }
+
+    /**
+     * Gets the index of the crumb which is not managed by the bar, its index
+     * may change after it is created.
+     *
+     * @param crumb
+     *        the UI-control of the crumb.
+     * @return the crumb index, {@code -1} if the crumb is not shown.
+     */
+    private int indexOfCrumb(
+        Node crumb)
+    {
+        if (collapser != null)
+        {
+            return collapser.indexOf(crumb);
+        }
+
+        final int childIndex = getChildren().indexOf(crumb);
+        return separated && childIndex > 0 ? childIndex / 2 : childIndex;
+    }
+
+    /**
+     * Gets the node as a crumb managed by the bar.
+     *
+     * @param node
+     *        the node.
+     * @return the crumb, {@code null} if the node is not a crumb managed by
+     *         the bar.
+     */
+    private Labeled managedCrumb(
+        Object node)
+    {
+        return BreadCrumb.managed(node);
+    }
+
+    /**
+     * Updates the text or the graphic of all managed crumbs in one pass.
+     *
+     * @param text
+     *        {@code true} to update the text.
+     * @param graphic
+     *        {@code true} to update the graphic.
+     */
+    private void updateCrumbs(
+        boolean text,
+        boolean graphic)
+    {
+        final Function<T, String> currentTextFunction = textFunction.get();
+        final Function<T, Node> currentGraphicFunction =
+            crumbGraphicFunction.get();
+
+        for (Node child : getChildren())
+        {
+            final Labeled crumb = managedCrumb(child);
+            if (crumb == null)
+            {
+                continue;
+            }
+
+            final T value = BreadCrumb.getValue(crumb);
+            if (text)
+            {
+                crumb.setText(currentTextFunction.apply(value));
+            }
+
+            if (graphic)
+            {
+                crumb.setGraphic(currentGraphicFunction.apply(value));
+            }
+        }
+
+        invalidateWidths();
+    }
+
+    /**
+     * Handles the actions of all managed crumbs.
+     *
+     * @param event
+     *        the action event.
+     */
+    private void handleCrumbAction(
+        ActionEvent event)
+    {
+        final Labeled crumb = managedCrumb(event.getTarget());
+        if (crumb != null)
+        {
+            crumbAction(BreadCrumb.getIndex(crumb), BreadCrumb.getValue(crumb));
+        }
+    }
+
+    /**
+     * Gets a separator, a pooled one if available.
+     *
+     * @return the separator, {@code null} if the bar has no separator
+     *         supplier.
+     */
+    Node acquireSeparator()
+    {
+        final Supplier<Node> nodeSupplier = getSeparatorSupplier();
+        if (nodeSupplier == null)
+        {
+            return null;
+        }
+
+        final Node pooledSeparator = separatorPool.poll();
+        if (pooledSeparator != null)
+        {
+            poolHits++;
+            return pooledSeparator;
+        }
+
+        if (poolSize > 0)
+        {
+            poolMisses++;
+        }
 
-    private final ObjectProperty<Function<T, Node>> graphicFunction;
+        final Node separator = nodeSupplier.get();
+        separator.getStyleClass().add("separator");
+        return separator;
+    }
 
-    private final ObjectProperty<Consumer<T>> onActionConsumer;
+    /**
+     * Puts the removed UI-control of a crumb into the node pool if it has
+     * room.
+     *
+     * @param crumb
+     *        the UI-control of the crumb.
+     */
+    void releaseCrumb(
+        Node crumb)
+    {
+        final Labeled managed = managedCrumb(crumb);
+        if (managed != null && crumbPool.size() < poolSize)
+        {
+            crumbPool.push(managed);
+        }
+    }
 
-    private final ObjectProperty<Supplier<Node>> separatorSupplier;
+    /**
+     * Puts the removed separator into the node pool if it has room.
+     *
+     * @param separator
+     *        the separator.
+     */
+    void releaseSeparator(
+        Node separator)
+    {
+        if (separatorPool.size() < poolSize)
+        {
+            separatorPool.push(separator);
+        }
+    }
 
     /**
-     * Creates a breadcrumbs navigation bar.
+     * Truncates the items after the crumb and notifies the onAction consumer.
+     *
+     * @param index
+     *        the crumb index, {@code -1} if the crumb is not shown.
+     * @param value
+     *        the crumb value.
      */
-    public AbstractBreadCrumbsBar()
+    void crumbAction(
+        int index,
+        T value)
     {
-        textFunction = new SimpleObjectProperty<>(Object::toString);
-        graphicFunction = new SimpleObjectProperty<>(t -> null);
-        onActionConsumer = new SimpleObjectProperty<>(t -> { });
-        separatorSupplier = new SimpleObjectProperty<>(null);
+        if (index < 0)
+        {
+            return;
+        }
 
-        getStylesheets().add(AbstractBreadCrumbsBar.class
-            .getResource("bread-crumbs-bar.css").toExternalForm());
+        bobtail(index);
+        onActionConsumer.get().accept(value);
+    }
 
-        getStyleClass().add("bread-crumbs-bar");
+    /**
+     * Gets the maximum number of crumbs and of separators kept for reuse.
+     *
+     * @return the maximum number of pooled crumbs and of pooled separators.
+     */
+    public int getPoolSize()
+    {
+        return poolSize;
     }
 
     /**
-     * Creates button UI-control for breadcrumbs navigation bar.
+     * Sets the maximum number of crumbs and of separators kept for reuse.
+     * The crumbs removed from the bar are rebound to new values instead of
+     * creating new controls. The pool is disabled by default.
      *
-     * @param item
-     *        the control value.
-     * @param textFunction
-     *        function for get display control text for current control value.
-     * @param graphicFunction
-     *        function for get control graphic for current control value.
-     * @param onActionConsumer
-     *        control value onAction consumer.
-     * @param isFirst
-     *        determines if it control is a first button on the bar.
-     * @return UI-control item for breadcrumbs navigation bar.
+     * @param poolSize
+     *        the maximum number of pooled crumbs and of pooled separators,
+     *        {@code 0} disables the pool.
      */
-    protected abstract Node createBreadCrumb(
-        T item,
-        ObjectProperty<Function<T, String>> textFunction,
-        ObjectProperty<Function<T, Node>> graphicFunction,
-        BiConsumer<T, Node> onActionConsumer,
-        boolean isFirst);
+    public void setPoolSize(
+        int poolSize)
+    {
+        if (poolSize < 0)
+        {
+            throw new IllegalArgumentException(
+                "poolSize must not be negative: " + poolSize);
+        }
+
+        this.poolSize = poolSize;
+
+        while (crumbPool.size() > poolSize)
+        {
+            crumbPool.pop();
+        }
+        while (separatorPool.size() > poolSize)
+        {
+            separatorPool.pop();
+        }
+    }
 
     /**
-     * Adds to the bar a new UI-control for specified item.
+     * Gets the number of crumbs and separators taken from the pool.
      *
-     * @param item
-     *        item to add.
+     * @return the number of pool hits.
      */
-    public void addBreadCrumb(
-        T item)
+    public long getPoolHits()
+    {
+        return poolHits;
+    }
+
+    /**
+     * Gets the number of crumbs and separators created while the pool is
+     * enabled.
+     *
+     * @return the number of pool misses.
+     */
+    public long getPoolMisses()
+    {
+        return poolMisses;
+    }
+
+    /**
+     * Gets the values of the crumbs in the path order.
+     *
+     * @return the unmodifiable list of the crumb values.
+     */
+    public List<T> getBreadCrumbs()
+    {
+        return unmodifiableValues;
+    }
+
+    /**
+     * Gets the index of the first crumb with the specified value.
+     *
+     * @param value
+     *        the crumb value.
+     * @return the crumb index, {@code -1} if the path does not contain the
+     *         value.
+     */
+    public int indexOf(
+        T value)
     {
-        boolean isFirst = getChildren().isEmpty();
+        final Integer index = firstIndices.get(value);
+
+        return index != null ? index : -1;
+    }
 
-        Supplier<Node> nodeSupplier;
-        if (!isFirst && (nodeSupplier = getSeparatorSupplier()) != null)
+    /**
+     * Truncates the path after the first crumb with the specified value. The
+     * onAction consumer is not notified.
+     *
+     * @param value
+     *        the crumb value.
+     * @return {@code true} if the path contains the value.
+     */
+    public boolean navigateTo(
+        T value)
+    {
+        final Integer index = firstIndices.get(value);
+        if (index == null)
         {
-            Node separator = nodeSupplier.get();
-            separator.getStyleClass().add("separator");
-            getChildren().add(separator);
+            return false;
         }
 
-        getChildren().add(
-            createBreadCrumb(
-                item,
-                textFunction,
-                graphicFunction,
-                (t, n) -> {
-                    bobtail(n);
-                    onActionConsumer.get().accept(t);
-                },
-                isFirst));
+        bobtail(index);
+        return true;
+    }
+
+    /**
+     * Truncates the path after the crumb with the specified index. The
+     * onAction consumer is not notified.
+     *
+     * @param index
+     *        the index of the last crumb to keep.
+     */
+    public void popTo(
+        int index)
+    {
+        Objects.checkIndex(index, values.size());
+
+        bobtail(index);
     }
 
     private void bobtail(
-        Node node)
+        int index)
     {
-        int index = getChildren().indexOf(node);
+        if (index + 1 >= values.size())
+        {
+            return;
+        }
+
+        final boolean ownEvent = beginEvent();
 
-        List<Node> head = getChildren().stream().limit(index + 1)
-            .collect(Collectors.toList());
+        values.remove(index + 1, values.size());
 
-        getChildren().setAll(head);
+        if (ownEvent)
+        {
+            commitEvent(BreadCrumbsUpdateEvent.BOBTAIL);
+        }
     }
 
     /**
@@ -120,11 +1160,20 @@ extends HBox
     public void addBreadCrumbs(
         Collection<T> items)
     {
-        items.forEach(this::addBreadCrumb);
+        final boolean ownEvent = beginEvent();
+
+        values.addAll(items);
+
+        if (ownEvent)
+        {
+            commitEvent(BreadCrumbsUpdateEvent.ADD);
+        }
     }
 
     /**
-     * Sets to the bar a new UI-controls for specified items.
+     * Sets to the bar a new UI-controls for specified items. The crumbs of
+     * the prefix shared by the current path and the items are kept, only the
+     * diverging tail is removed and only the new suffix is created.
      *
      * @param items
      *        items collection to set.
@@ -132,8 +1181,114 @@ extends HBox
     public void setBreadCrumbs(
         Collection<T> items)
     {
-        getChildren().clear();
-        addBreadCrumbs(items);
+        final Iterator<T> iterator = items.iterator();
+        final List<T> suffix = new ArrayList<>();
+        int prefix = 0;
+        while (iterator.hasNext())
+        {
+            final T item = iterator.next();
+            if (prefix == values.size()
+                || !Objects.equals(item, values.get(prefix)))
+            {
+                suffix.add(item);
+                iterator.forEachRemaining(suffix::add);
+                break;
+            }
+
+            prefix++;
+        }
+
+        final boolean ownEvent = beginEvent();
+
+        if (prefix < values.size())
+        {
+            values.remove(prefix, values.size());
+        }
+        if (!suffix.isEmpty())
+        {
+            values.addAll(suffix);
+        }
+
+        if (ownEvent)
+        {
+            commitEvent(BreadCrumbsUpdateEvent.SET);
+        }
+    }
+
+    /**
+     * Starts the update event unless an update is in progress, the changes of
+     * the items made by the bar methods are recorded as one event.
+     *
+     * @return {@code true} if the event is started.
+     */
+    private boolean beginEvent()
+    {
+        if (event != null)
+        {
+            return false;
+        }
+
+        event = new BreadCrumbsUpdateEvent();
+        event.begin();
+        eventCrumbsCreated = 0;
+        eventNodesRemoved = 0;
+        return true;
+    }
+
+    private void commitEvent(
+        String operation)
+    {
+        final BreadCrumbsUpdateEvent updateEvent = event;
+        event = null;
+
+        updateEvent.end();
+        if (updateEvent.shouldCommit())
+        {
+            updateEvent.operation = operation;
+            updateEvent.crumbsCreated = eventCrumbsCreated;
+            updateEvent.nodesRemoved = eventNodesRemoved;
+            updateEvent.nodes = getChildren().size();
+            updateEvent.commit();
+        }
+    }
+
+    /**
+     * Gets the values of the crumbs in the path order. The bar methods change
+     * the items, and the changes of the items made by the application update
+     * the crumbs.
+     *
+     * @return the values of the crumbs in the path order.
+     */
+    public ObservableList<T> getItems()
+    {
+        return items.get();
+    }
+
+    /**
+     * Gets the values of the crumbs in the path order. The list is the model
+     * of the path: an application navigation model may be set as the items,
+     * the added, removed and replaced items are translated into insertions
+     * and removals of their crumbs only, and a crumb click removes the items
+     * after it in place.
+     *
+     * @return the values of the crumbs in the path order.
+     */
+    public ObjectProperty<ObservableList<T>> itemsProperty()
+    {
+        return items;
+    }
+
+    /**
+     * Sets the values of the crumbs in the path order.
+     *
+     * @param items
+     *        the values of the crumbs, {@code null} is replaced with a new
+     *        empty list.
+     */
+    public void setItems(
+        ObservableList<T> items)
+    {
+        this.items.set(items);
     }
 
     /**
@@ -266,4 +1421,172 @@ extends HBox
     {
         this.separatorSupplier.set(separatorSupplier);
     }
+
+    /**
+     * Determines if the bar collapses the crumbs which do not fit.
+     *
+     * @return {@code true} if the bar collapses the crumbs which do not fit.
+     */
+    public boolean isCollapsing()
+    {
+        return collapsing.get();
+    }
+
+    /**
+     * Gets the switch of the collapsing mode. In the collapsing mode only the
+     * first crumb and the trailing crumbs which fit the bar width are
+     * created, the crumbs between them are collapsed into a single overflow
+     * menu which is filled when it is opened.
+     *
+     * @return the switch of the collapsing mode.
+     */
+    public BooleanProperty collapsingProperty()
+    {
+        return collapsing;
+    }
+
+    /**
+     * Sets the switch of the collapsing mode.
+     *
+     * @param collapsing
+     *        {@code true} to collapse the crumbs which do not fit.
+     */
+    public void setCollapsing(
+        boolean collapsing)
+    {
+        this.collapsing.set(collapsing);
+    }
+
+    /**
+     * Gets the image provider of the crumbs.
+     *
+     * @return the image provider of the crumbs.
+     */
+    public Function<T, Image> getImageProvider()
+    {
+        return imageProvider.get();
+    }
+
+    /**
+     * Gets the image provider of the crumbs. The provider is called on the
+     * image executor, the crumb shows the placeholder image until its image
+     * is provided. The provided images are cached per provider and value in
+     * a cache shared by all bars. The graphic function is not used while the
+     * bar has an image provider.
+     *
+     * @return the image provider of the crumbs.
+     */
+    public ObjectProperty<Function<T, Image>> imageProviderProperty()
+    {
+        return imageProvider;
+    }
+
+    /**
+     * Sets the image provider of the crumbs.
+     *
+     * @param imageProvider
+     *        the image provider of the crumbs, {@code null} to use the
+     *        graphic function.
+     */
+    public void setImageProvider(
+        Function<T, Image> imageProvider)
+    {
+        this.imageProvider.set(imageProvider);
+    }
+
+    /**
+     * Gets the executor of the image provider.
+     *
+     * @return the executor of the image provider.
+     */
+    public Executor getImageExecutor()
+    {
+        return imageExecutor.get();
+    }
+
+    /**
+     * Gets the executor of the image provider. By default the images are
+     * provided on a shared executor with daemon threads.
+     *
+     * @return the executor of the image provider.
+     */
+    public ObjectProperty<Executor> imageExecutorProperty()
+    {
+        return imageExecutor;
+    }
+
+    /**
+     * Sets the executor of the image provider.
+     *
+     * @param imageExecutor
+     *        the executor of the image provider, {@code null} to use the
+     *        shared executor.
+     */
+    public void setImageExecutor(
+        Executor imageExecutor)
+    {
+        this.imageExecutor.set(imageExecutor);
+    }
+
+    /**
+     * Gets the image shown by a crumb until its image is provided.
+     *
+     * @return the placeholder image.
+     */
+    public Image getPlaceholderImage()
+    {
+        return placeholderImage.get();
+    }
+
+    /**
+     * Gets the image shown by a crumb until its image is provided.
+     *
+     * @return the placeholder image.
+     */
+    public ObjectProperty<Image> placeholderImageProperty()
+    {
+        return placeholderImage;
+    }
+
+    /**
+     * Sets the image shown by a crumb until its image is provided.
+     *
+     * @param placeholderImage
+     *        the placeholder image, may be {@code null}.
+     */
+    public void setPlaceholderImage(
+        Image placeholderImage)
+    {
+        this.placeholderImage.set(placeholderImage);
+    }
+
+    /**
+     * Gets the maximum number of the cached provided images. The cache is
+     * shared by all bars.
+     *
+     * @return the maximum number of the cached images.
+     */
+    public static int getImageCacheSize()
+    {
+        return BreadCrumbImageLoader.getCacheSize();
+    }
+
+    /**
+     * Sets the maximum number of the cached provided images. The cache is
+     * shared by all bars, the least recently used images are dropped first.
+     *
+     * @param imageCacheSize
+     *        the maximum number of the cached images.
+     */
+    public static void setImageCacheSize(
+        int imageCacheSize)
+    {
+        if (imageCacheSize < 0)
+        {
+            throw new IllegalArgumentException(
+                "imageCacheSize must not be negative: " + imageCacheSize);
+        }
+
+        BreadCrumbImageLoader.setCacheSize(imageCacheSize);
+    }
 }
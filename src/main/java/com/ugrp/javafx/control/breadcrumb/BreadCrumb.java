@@ -0,0 +1,106 @@
+package com.ugrp.javafx.control.breadcrumb;
+
+import javafx.scene.control.Labeled;
+
+/**
+ * Access of {@link AbstractBreadCrumbsBar} to the crumb UI-controls it
+ * manages. The bar sets the text and the graphic of the crumb, handles its
+ * action and reuses it for another value from the node pool. Only the crumbs
+ * created by the package-private constructors are managed by the bar, the
+ * crumbs created by the public constructors manage themselves.
+ *
+ * @author Oleg Karelin
+ */
+final class BreadCrumb
+{
+    private BreadCrumb()
+    {
+    }
+
+    /**
+     * Gets the node as a crumb managed by the bar.
+     *
+     * @param node
+     *        the node.
+     * @return the crumb, {@code null} if the node is not a crumb managed by
+     *         the bar.
+     */
+    static Labeled managed(
+        Object node)
+    {
+        if (node instanceof ButtonBreadCrumb
+            && ((ButtonBreadCrumb<?>) node).isManagedByBar())
+        {
+            return (Labeled) node;
+        }
+
+        if (node instanceof HyperlinkBreadCrumb
+            && ((HyperlinkBreadCrumb<?>) node).isManagedByBar())
+        {
+            return (Labeled) node;
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the control value of the managed crumb.
+     *
+     * @param <T>
+     *        a control value type.
+     * @param crumb
+     *        the managed crumb.
+     * @return the control value.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T getValue(
+        Labeled crumb)
+    {
+        return crumb instanceof ButtonBreadCrumb
+            ? ((ButtonBreadCrumb<T>) crumb).getValue()
+            : ((HyperlinkBreadCrumb<T>) crumb).getValue();
+    }
+
+    /**
+     * Gets the index of the managed crumb in the path.
+     *
+     * @param crumb
+     *        the managed crumb.
+     * @return the index of the crumb in the path.
+     */
+    static int getIndex(
+        Labeled crumb)
+    {
+        return crumb instanceof ButtonBreadCrumb
+            ? ((ButtonBreadCrumb<?>) crumb).getIndex()
+            : ((HyperlinkBreadCrumb<?>) crumb).getIndex();
+    }
+
+    /**
+     * Rebinds the managed crumb to a new value and path index.
+     *
+     * @param <T>
+     *        a control value type.
+     * @param crumb
+     *        the managed crumb.
+     * @param index
+     *        the index of the crumb in the path.
+     * @param value
+     *        the new control value.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void rebind(
+        Labeled crumb,
+        int index,
+        T value)
+    {
+        if (crumb instanceof ButtonBreadCrumb)
+        {
+            ((ButtonBreadCrumb<T>) crumb).rebind(index, value);
+        }
+        else
+        {
+            ((HyperlinkBreadCrumb<T>) crumb).rebind(index, value);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.ugrp.javafx.control.breadcrumb;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+/**
+ * Asynchronous loader of the crumb images of {@link AbstractBreadCrumbsBar}.
+ * The images are provided on a background executor, the crumb shows the
+ * placeholder until its image is loaded. The loaded images are kept in a
+ * bounded LRU cache shared by all bars and keyed by the image provider and
+ * the crumb value, so the crumbs of repeated paths and the bars with the same
+ * provider reuse the decoded images. Crumbs of one value requested while its
+ * image is loading wait for the same load.
+ * <p>
+ * The loader should be used on the JavaFX application thread only, the image
+ * provider is the only part called on the executor.</p>
+ *
+ * @param <T>
+ *        a control value type.
+ * @author Oleg Karelin
+ */
+final class BreadCrumbImageLoader<T>
+{
+    private static final int LOADER_THREADS = 2;
+
+    private static final int DEFAULT_CACHE_SIZE = 256;
+
+    private static final Map<Key, Image> CACHE =
+        new LinkedHashMap<Key, Image>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                Map.Entry<Key, Image> eldest)
+            {
+                return size() > cacheSize;
+            }
+        };
+
+    private static int cacheSize = DEFAULT_CACHE_SIZE;
+
+    private static ExecutorService defaultExecutor;
+
+    /**
+     * Image views waiting for the image of each loading value.
+     */
+    private final Map<T, List<ImageView>> pending = new HashMap<>();
+
+    private final Consumer<T> loadedConsumer;
+
+    /**
+     * Incremented when the loads in progress become obsolete.
+     */
+    private int generation;
+
+    /**
+     * Creates an image loader of one bar.
+     *
+     * @param loadedConsumer
+     *        consumer of the values which images are loaded.
+     */
+    BreadCrumbImageLoader(
+        Consumer<T> loadedConsumer)
+    {
+        this.loadedConsumer = loadedConsumer;
+    }
+
+    /**
+     * Gets the shared executor of the bars which have no own executor. The
+     * executor runs daemon threads and is created on demand.
+     *
+     * @return the shared executor.
+     */
+    static synchronized Executor getDefaultExecutor()
+    {
+        if (defaultExecutor == null)
+        {
+            defaultExecutor = Executors.newFixedThreadPool(LOADER_THREADS,
+                runnable -> {
+                    final Thread thread =
+                        new Thread(runnable, "BreadCrumbs Image Loader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+
+        return defaultExecutor;
+    }
+
+    /**
+     * Gets the graphic of the crumb. The graphic shows the cached image, or
+     * the placeholder until the image is loaded.
+     *
+     * @param value
+     *        the crumb value.
+     * @param provider
+     *        the image provider, called on the executor.
+     * @param executor
+     *        the executor.
+     * @param placeholder
+     *        the placeholder image, may be {@code null}.
+     * @return the graphic of the crumb.
+     */
+    Node getGraphic(
+        T value,
+        Function<T, Image> provider,
+        Executor executor,
+        Image placeholder)
+    {
+        final Key key = new Key(provider, value);
+        final Image image = CACHE.get(key);
+        if (image != null)
+        {
+            return new ImageView(image);
+        }
+
+        final ImageView view = new ImageView(placeholder);
+
+        List<ImageView> views = pending.get(value);
+        if (views == null)
+        {
+            views = new ArrayList<>(1);
+            pending.put(value, views);
+
+            final int loadGeneration = generation;
+            try
+            {
+                executor.execute(
+                    () -> load(key, value, provider, loadGeneration));
+            }
+            catch (RejectedExecutionException e)
+            {
+                // The crumb keeps the placeholder, the image is requested
+                // again with the next graphic of the value.
+                pending.remove(value);
+                return view;
+            }
+        }
+
+        views.add(view);
+        return view;
+    }
+
+    /**
+     * Gets the graphic to measure the crumb which is not shown: the cached
+     * image or the placeholder. The load of the image is not started.
+     *
+     * @param value
+     *        the crumb value.
+     * @param provider
+     *        the image provider.
+     * @param placeholder
+     *        the placeholder image, may be {@code null}.
+     * @return the graphic to measure the crumb.
+     */
+    Node getMeasuringGraphic(
+        T value,
+        Function<T, Image> provider,
+        Image placeholder)
+    {
+        final Image image = CACHE.get(new Key(provider, value));
+
+        return new ImageView(image != null ? image : placeholder);
+    }
+
+    /**
+     * Provides the image on the executor. The completion is always passed to
+     * the JavaFX application thread, so the value does not stay pending when
+     * the provider fails.
+     */
+    private void load(
+        Key key,
+        T value,
+        Function<T, Image> provider,
+        int loadGeneration)
+    {
+        Image image = null;
+        try
+        {
+            image = provider.apply(value);
+        }
+        catch (Throwable e)
+        {
+            // The crumb keeps the placeholder.
+        }
+        finally
+        {
+            final Image result = image;
+            Platform.runLater(
+                () -> loaded(key, value, result, loadGeneration));
+        }
+    }
+
+    private void loaded(
+        Key key,
+        T value,
+        Image image,
+        int loadGeneration)
+    {
+        if (loadGeneration != generation)
+        {
+            return;
+        }
+
+        final List<ImageView> views = pending.remove(value);
+        if (image == null || views == null)
+        {
+            return;
+        }
+
+        CACHE.put(key, image);
+        for (ImageView view : views)
+        {
+            view.setImage(image);
+        }
+
+        loadedConsumer.accept(value);
+    }
+
+    /**
+     * Gets the maximum number of cached images.
+     *
+     * @return the maximum number of cached images.
+     */
+    static int getCacheSize()
+    {
+        return cacheSize;
+    }
+
+    /**
+     * Sets the maximum number of cached images.
+     *
+     * @param cacheSize
+     *        the maximum number of cached images.
+     */
+    static void setCacheSize(
+        int cacheSize)
+    {
+        BreadCrumbImageLoader.cacheSize = cacheSize;
+
+        final Iterator<Map.Entry<Key, Image>> iterator =
+            CACHE.entrySet().iterator();
+        while (CACHE.size() > cacheSize)
+        {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Drops the loads in progress, called when the image provider of the bar
+     * changes. The cached images of the previous provider are dropped from
+     * the shared cache as the least recently used ones.
+     */
+    void clear()
+    {
+        generation++;
+        pending.clear();
+    }
+
+    private static final class Key
+    {
+        private final Object provider;
+
+        private final Object value;
+
+        private final int hash;
+
+        Key(
+            Object provider,
+            Object value)
+        {
+            this.provider = provider;
+            this.value = value;
+
+            hash = 31 * provider.hashCode() + Objects.hashCode(value);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(
+            Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+
+            if (!(obj instanceof Key))
+            {
+                return false;
+            }
+
+            final Key other = (Key) obj;
+            return hash == other.hash
+                && provider.equals(other.provider)
+                && Objects.equals(value, other.value);
+        }
+    }
+}
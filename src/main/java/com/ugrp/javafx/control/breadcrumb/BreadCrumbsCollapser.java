@@ -0,0 +1,649 @@
+package com.ugrp.javafx.control.breadcrumb;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javafx.geometry.Insets;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.MenuButton;
+import javafx.scene.control.MenuItem;
+
+/**
+ * Collapsing mode of {@link AbstractBreadCrumbsBar}. Only the first crumb
+ * and the trailing crumbs which fit the bar width are created, the crumbs
+ * between them are collapsed into a single overflow menu. The menu items
+ * are created when the menu is opened and are dropped when it is closed, so
+ * the number of nodes does not depend on the path depth.
+ * <p>
+ * The path is walked backwards from the last crumb and the walk stops at the
+ * first crumb which does not fit, so the cost of a layout does not depend on
+ * the path depth either. The preferred width of the bar is the width of the
+ * first crumb, the overflow menu and the trailing crumbs which fit the scene,
+ * or the width of the whole path if it fits. The widths of the crumbs are
+ * kept per path index and are cached per value, so each crumb is measured
+ * once. The crumbs which are not shown are measured by a single measuring
+ * crumb in an unmanaged invisible group of the bar: it gets the cached image
+ * or the placeholder, so the measuring neither creates crumbs nor starts
+ * image loads for the collapsed part of the path.</p>
+ *
+ * @param <T>
+ *        a control value type.
+ * @author Oleg Karelin
+ */
+final class BreadCrumbsCollapser<T>
+{
+    private static final String OVERFLOW_TEXT = "\u2026";
+
+    private static final int WIDTH_CACHE_SIZE = 1024;
+
+    private final AbstractBreadCrumbsBar<T> bar;
+
+    /**
+     * Created crumbs by their index in the path.
+     */
+    private final Map<Integer, Node> crumbs = new HashMap<>();
+
+    private final List<Node> separators = new ArrayList<>();
+
+    /**
+     * Parent of the measured nodes which are not children of the bar.
+     */
+    private final Group measuring = new Group();
+
+    private final Map<T, Double> widths =
+        new LinkedHashMap<>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                Map.Entry<T, Double> eldest)
+            {
+                return size() > WIDTH_CACHE_SIZE;
+            }
+        };
+
+    /**
+     * Widths of the crumbs by their index in the path, {@code NaN} for the
+     * crumbs which are not measured yet.
+     */
+    private double[] pathWidths = new double[0];
+
+    /**
+     * Crumb which measures the crumbs which are not shown, {@code null} until
+     * it is created or if the bar does not manage its crumbs.
+     */
+    private Labeled measuringCrumb;
+
+    private double separatorWidth = -1;
+
+    private double overflowWidth = -1;
+
+    private MenuButton overflow;
+
+    /**
+     * Number of the collapsed crumbs after the first one.
+     */
+    private int collapsedCount;
+
+    /**
+     * Creates the collapsing mode of the bar.
+     *
+     * @param bar
+     *        the bar.
+     */
+    BreadCrumbsCollapser(
+        AbstractBreadCrumbsBar<T> bar)
+    {
+        this.bar = bar;
+
+        measuring.setManaged(false);
+        measuring.setVisible(false);
+        bar.getChildren().add(measuring);
+    }
+
+    /**
+     * Computes the preferred width of the bar: the width of the path shown in
+     * the width of the scene, or in the bar width if it is greater.
+     *
+     * @return the preferred width of the bar.
+     */
+    double computePrefWidth()
+    {
+        final Insets insets = bar.getInsets();
+        final Scene scene = bar.getScene();
+        final double width = scene != null
+            ? Math.max(scene.getWidth(), bar.getWidth()) : bar.getWidth();
+        final double available = width - insets.getLeft() - insets.getRight();
+
+        return insets.getLeft() + shownWidth(visibleFrom(available))
+            + insets.getRight();
+    }
+
+    /**
+     * Computes the minimum width of the bar: the width of the first crumb,
+     * the overflow menu and the last crumb.
+     *
+     * @return the minimum width of the bar.
+     */
+    double computeMinWidth()
+    {
+        final Insets insets = bar.getInsets();
+        final int size = bar.getBreadCrumbs().size();
+        final double width = size > 2
+            ? pathWidth(0) + 2 * overflowGap() + overflowWidth()
+                + pathWidth(size - 1)
+            : shownWidth(1);
+
+        return insets.getLeft() + width + insets.getRight();
+    }
+
+    /**
+     * Updates the children of the bar for its current width. Called on the
+     * bar layout.
+     */
+    void update()
+    {
+        final List<T> values = bar.getBreadCrumbs();
+        final int size = values.size();
+        final List<Node> children = new ArrayList<>();
+        children.add(measuring);
+        int visibleFrom = size;
+
+        if (size > 0)
+        {
+            final Insets insets = bar.getInsets();
+            visibleFrom = visibleFrom(
+                bar.getWidth() - insets.getLeft() - insets.getRight());
+            collapsedCount = Math.max(visibleFrom - 1, 0);
+
+            children.add(crumb(0));
+            int separatorCount = 0;
+            if (collapsedCount > 0)
+            {
+                separatorCount = addSeparator(children, separatorCount);
+                children.add(overflow());
+            }
+
+            for (int i = visibleFrom; i < size; i++)
+            {
+                separatorCount = addSeparator(children, separatorCount);
+                children.add(crumb(i));
+            }
+
+            while (separators.size() > separatorCount)
+            {
+                bar.releaseSeparator(
+                    separators.remove(separators.size() - 1));
+            }
+        }
+        else
+        {
+            collapsedCount = 0;
+        }
+
+        // Releases the crumbs which were shown but do not fit any more.
+        final Iterator<Map.Entry<Integer, Node>> iterator =
+            crumbs.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            final Map.Entry<Integer, Node> entry = iterator.next();
+            final int index = entry.getKey();
+            if (index > 0 && index < visibleFrom)
+            {
+                bar.releaseCrumb(entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        // Changing the children requests another layout, so they are set
+        // only when they differ to let the layout settle.
+        if (!children.equals(bar.getChildren()))
+        {
+            bar.getChildren().setAll(children);
+        }
+
+        measuring.getChildren().clear();
+    }
+
+    /**
+     * Gets the index of the first crumb shown after the first one or after
+     * the overflow menu. The path is walked backwards from the last crumb
+     * while the trailing crumbs fit the width with the first crumb, the
+     * trailing crumbs which fit with the first crumb and the overflow menu
+     * are shown. The menu may be wider than the crumbs it replaces, so the
+     * whole path is shown if the walk reaches the second crumb. The last
+     * crumb is shown even if it does not fit. The crumbs before the one which
+     * stops the walk are not measured.
+     *
+     * @param available
+     *        the width available to the crumbs.
+     * @return the index of the first shown crumb after the first one.
+     */
+    private int visibleFrom(
+        double available)
+    {
+        final int size = bar.getBreadCrumbs().size();
+        if (size <= 2)
+        {
+            return 1;
+        }
+
+        final double firstWidth = pathWidth(0);
+        final double collapsedWidth =
+            firstWidth + 2 * overflowGap() + overflowWidth();
+        final double crumbGap = crumbGap();
+
+        int visibleFrom = size - 1;
+        double trailingWidth = pathWidth(visibleFrom);
+        for (int i = size - 2; i > 0; i--)
+        {
+            final double width = trailingWidth + crumbGap + pathWidth(i);
+            final boolean expanded = firstWidth + crumbGap + width <= available;
+            final boolean collapsed = collapsedWidth + width <= available;
+            if (i == 1 && expanded)
+            {
+                return 1;
+            }
+
+            if (!expanded && !collapsed)
+            {
+                break;
+            }
+
+            if (collapsed && i > 1)
+            {
+                visibleFrom = i;
+            }
+
+            trailingWidth = width;
+        }
+
+        return visibleFrom;
+    }
+
+    /**
+     * Gets the width of the shown path without the insets of the bar. The
+     * shown crumbs are measured by {@link #visibleFrom(double)}.
+     *
+     * @param visibleFrom
+     *        the index of the first shown crumb after the first one.
+     * @return the width of the shown path.
+     */
+    private double shownWidth(
+        int visibleFrom)
+    {
+        final int size = bar.getBreadCrumbs().size();
+        if (size == 0)
+        {
+            return 0;
+        }
+
+        double width = pathWidth(0);
+        int from = visibleFrom;
+        if (visibleFrom > 1)
+        {
+            width += 2 * overflowGap() + overflowWidth() + pathWidth(from++);
+        }
+
+        if (from < size)
+        {
+            final double crumbGap = crumbGap();
+            for (int i = from; i < size; i++)
+            {
+                width += crumbGap + pathWidth(i);
+            }
+        }
+
+        return width;
+    }
+
+    /**
+     * Gets the width of the crumb with the specified path index, the crumb
+     * is measured if it is not measured yet.
+     */
+    private double pathWidth(
+        int index)
+    {
+        final int size = bar.getBreadCrumbs().size();
+        if (pathWidths.length != size)
+        {
+            final int measured = Math.min(pathWidths.length, size);
+            pathWidths = Arrays.copyOf(pathWidths, size);
+            Arrays.fill(pathWidths, measured, size, Double.NaN);
+        }
+
+        if (Double.isNaN(pathWidths[index]))
+        {
+            pathWidths[index] = width(index);
+        }
+
+        return pathWidths[index];
+    }
+
+    /**
+     * Gets the gap between adjacent crumbs: the separator with its spacing,
+     * or the spacing less the overlap of the crumbs.
+     */
+    private double crumbGap()
+    {
+        if (bar.getSeparatorSupplier() != null)
+        {
+            return overflowGap();
+        }
+
+        final double height = styled(crumb(0)).prefHeight(-1);
+
+        return bar.getSpacing() - bar.getCrumbOverlap(height);
+    }
+
+    /**
+     * Gets the gap between the overflow menu and a crumb, the menu does not
+     * overlap the crumbs.
+     */
+    private double overflowGap()
+    {
+        final double spacing = bar.getSpacing();
+
+        return bar.getSeparatorSupplier() != null
+            ? 2 * spacing + separatorWidth() : spacing;
+    }
+
+    private int addSeparator(
+        List<Node> children,
+        int separatorCount)
+    {
+        if (bar.getSeparatorSupplier() == null)
+        {
+            return separatorCount;
+        }
+
+        if (separatorCount == separators.size())
+        {
+            separators.add(bar.acquireSeparator());
+        }
+
+        children.add(separators.get(separatorCount));
+        return separatorCount + 1;
+    }
+
+    private Node crumb(
+        int index)
+    {
+        return crumbs.computeIfAbsent(index, bar::acquireCrumb);
+    }
+
+    private double width(
+        int index)
+    {
+        final T value = bar.getBreadCrumbs().get(index);
+        final Double width = widths.get(value);
+        if (width != null)
+        {
+            return width;
+        }
+
+        // The first crumb is always shown.
+        final Node crumb = index == 0 ? crumb(0) : crumbs.get(index);
+        final double measured =
+            crumb != null ? measure(crumb) : measureNotShown(index);
+
+        widths.put(value, measured);
+        return measured;
+    }
+
+    /**
+     * Measures the crumb which is not shown by the measuring crumb. The bar
+     * which does not manage its crumbs gets a new crumb for each measuring.
+     */
+    private double measureNotShown(
+        int index)
+    {
+        final Node crumb;
+        if (measuringCrumb != null)
+        {
+            crumb = measuringCrumb;
+        }
+        else
+        {
+            crumb = bar.createMeasuringCrumb(index);
+            measuringCrumb = BreadCrumb.managed(crumb);
+        }
+
+        if (measuringCrumb == null)
+        {
+            final double measured = measure(crumb);
+            measuring.getChildren().remove(crumb);
+            return measured;
+        }
+
+        bar.bindMeasuringCrumb(measuringCrumb, index);
+        return measure(crumb);
+    }
+
+    private double separatorWidth()
+    {
+        if (separatorWidth < 0)
+        {
+            if (separators.isEmpty())
+            {
+                separators.add(bar.acquireSeparator());
+            }
+
+            separatorWidth = measure(separators.get(0));
+        }
+
+        return separatorWidth;
+    }
+
+    private double overflowWidth()
+    {
+        if (overflowWidth < 0)
+        {
+            overflowWidth = measure(overflow());
+        }
+
+        return overflowWidth;
+    }
+
+    /**
+     * Measures the preferred width of the node with the bar styles applied,
+     * snapped as the bar layout snaps it.
+     */
+    private double measure(
+        Node node)
+    {
+        return bar.snapSizeX(styled(node).prefWidth(-1));
+    }
+
+    /**
+     * Applies the bar styles to the node. The node which is not a child of
+     * the bar is added to the measuring group: the group is not managed, so
+     * the bar layout is not requested again.
+     */
+    private Node styled(
+        Node node)
+    {
+        if (node.getParent() == null)
+        {
+            measuring.getChildren().add(node);
+        }
+
+        node.applyCss();
+        return node;
+    }
+
+    private MenuButton overflow()
+    {
+        if (overflow == null)
+        {
+            overflow = new MenuButton(OVERFLOW_TEXT);
+            overflow.getStyleClass().add("bread-crumb-overflow");
+            overflow.setOnShowing(e -> fillOverflow());
+            overflow.setOnHidden(e -> overflow.getItems().clear());
+        }
+
+        return overflow;
+    }
+
+    private void fillOverflow()
+    {
+        final List<T> values = bar.getBreadCrumbs();
+        final List<MenuItem> items = new ArrayList<>(collapsedCount);
+        for (int i = 1; i <= collapsedCount; i++)
+        {
+            final int index = i;
+            final T value = values.get(index);
+
+            final MenuItem item = new MenuItem(
+                bar.getTextFunction().apply(value),
+                bar.getCrumbGraphicFunction().apply(value));
+            item.setOnAction(e -> bar.crumbAction(index, value));
+            items.add(item);
+        }
+
+        overflow.getItems().setAll(items);
+    }
+
+    /**
+     * Releases the crumbs after the specified one and removes them from the
+     * bar. The widths of the path after the crumb are measured again.
+     *
+     * @param index
+     *        the index of the last kept crumb, {@code -1} to remove all
+     *        crumbs.
+     * @return the number of the removed nodes.
+     */
+    int removeAfter(
+        int index)
+    {
+        final Set<Node> removed =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+
+        final Iterator<Map.Entry<Integer, Node>> iterator =
+            crumbs.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            final Map.Entry<Integer, Node> entry = iterator.next();
+            if (entry.getKey() > index)
+            {
+                bar.releaseCrumb(entry.getValue());
+                removed.add(entry.getValue());
+                iterator.remove();
+            }
+        }
+
+        if (index + 1 < pathWidths.length)
+        {
+            Arrays.fill(pathWidths, index + 1, pathWidths.length, Double.NaN);
+        }
+
+        if (removed.isEmpty())
+        {
+            return 0;
+        }
+
+        bar.getChildren().removeIf(removed::contains);
+        measuring.getChildren().removeIf(removed::contains);
+        return removed.size();
+    }
+
+    /**
+     * Gets the index of the created crumb.
+     *
+     * @param crumb
+     *        the UI-control of the crumb.
+     * @return the crumb index, {@code -1} if the crumb is not created.
+     */
+    int indexOf(
+        Node crumb)
+    {
+        for (Map.Entry<Integer, Node> entry : crumbs.entrySet())
+        {
+            if (entry.getValue() == crumb)
+            {
+                return entry.getKey();
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Drops the cached widths, called when the crumb text or graphic
+     * changes.
+     */
+    void invalidateWidths()
+    {
+        widths.clear();
+        Arrays.fill(pathWidths, Double.NaN);
+        bar.requestLayout();
+    }
+
+    /**
+     * Drops the cached width of the value, called when the crumb graphic of
+     * the value changes.
+     *
+     * @param value
+     *        the crumb value.
+     */
+    void invalidateWidth(
+        T value)
+    {
+        boolean invalidated = widths.remove(value) != null;
+
+        final List<T> values = bar.getBreadCrumbs();
+        final int measured = Math.min(pathWidths.length, values.size());
+        for (int i = 0; i < measured; i++)
+        {
+            if (Objects.equals(values.get(i), value))
+            {
+                pathWidths[i] = Double.NaN;
+                invalidated = true;
+            }
+        }
+
+        if (invalidated)
+        {
+            bar.requestLayout();
+        }
+    }
+
+    /**
+     * Drops the separators created by the previous supplier.
+     */
+    void separatorsChanged()
+    {
+        bar.getChildren().removeAll(separators);
+        measuring.getChildren().removeAll(separators);
+        separators.clear();
+        separatorWidth = -1;
+        bar.requestLayout();
+    }
+
+    /**
+     * Removes all nodes of the collapsing mode from the bar.
+     */
+    void dispose()
+    {
+        crumbs.clear();
+        separators.clear();
+        measuringCrumb = null;
+        pathWidths = new double[0];
+        collapsedCount = 0;
+        measuring.getChildren().clear();
+        bar.getChildren().clear();
+    }
+}
@@ -0,0 +1,42 @@
+package com.ugrp.javafx.control.breadcrumb;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of a {@link AbstractBreadCrumbsBar} path update.
+ *
+ * @author Oleg Karelin
+ */
+@Name("com.ugrp.javafx.control.BreadCrumbsUpdate")
+@Label("BreadCrumbsBar Update")
+@Category({ "JavaFX Controls", "BreadCrumbsBar" })
+@Description("Update of the crumbs shown by a bar")
+final class BreadCrumbsUpdateEvent
+extends Event
+{
+    static final String SET = "setBreadCrumbs";
+
+    static final String ADD = "addBreadCrumbs";
+
+    static final String BOBTAIL = "bobtail";
+
+    static final String ITEMS = "itemsChanged";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Crumbs Created")
+    int crumbsCreated;
+
+    @Label("Nodes Removed")
+    @Description("Number of removed crumbs and separators")
+    int nodesRemoved;
+
+    @Label("Nodes")
+    @Description("Number of crumbs and separators after the update")
+    int nodes;
+}
@@ -3,19 +3,10 @@ package com.ugrp.javafx.control.breadcrumb;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
-import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
-import javafx.beans.binding.DoubleExpression;
 import javafx.beans.property.ObjectProperty;
-import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.Button;
-import javafx.scene.layout.HBox;
-import javafx.scene.shape.ClosePath;
-import javafx.scene.shape.HLineTo;
-import javafx.scene.shape.LineTo;
-import javafx.scene.shape.MoveTo;
-import javafx.scene.shape.Path;
 
 /**
  * Button UI-control for breadcrumbs navigation bar.
@@ -27,10 +18,24 @@ import javafx.scene.shape.Path;
 public class ButtonBreadCrumb<T>
 extends Button
 {
-    private final T value;
+    /**
+     * Determines if the crumb is managed by the bar.
+     */
+    private final boolean managedByBar;
+
+    private T value;
+
+    private int index;
+
+    private boolean isFirst;
+
+    private double shapeWidth;
+
+    private double shapeHeight;
 
     /**
-     * Creates button UI-control for breadcrumbs navigation bar.
+     * Creates button UI-control for breadcrumbs navigation bar. The text and
+     * the graphic are bound to the functions.
      *
      * @param value
      *        the control value.
@@ -50,7 +55,7 @@ extends Button
         BiConsumer<T, Node> onActionConsumer,
         boolean isFirst)
     {
-        this.value = value;
+        this(value, isFirst, false);
 
         textProperty().bind(Bindings.createStringBinding(
             () -> textFunction.get().apply(value), textFunction));
@@ -58,10 +63,35 @@ extends Button
             () -> graphicFunction.get().apply(value), graphicFunction));
 
         setOnAction(e -> onActionConsumer.accept(value, this));
+    }
 
-        getStyleClass().add("bread-crumb");
+    /**
+     * Creates button UI-control which text, graphic and action are managed by
+     * the bar.
+     *
+     * @param value
+     *        the control value.
+     * @param isFirst
+     *        determines if it control is a first button on the bar.
+     */
+    ButtonBreadCrumb(
+        T value,
+        boolean isFirst)
+    {
+        this(value, isFirst, true);
+    }
 
-        initButtonShape(isFirst);
+    private ButtonBreadCrumb(
+        T value,
+        boolean isFirst,
+        boolean managed)
+    {
+        this.value = value;
+        this.isFirst = isFirst;
+
+        managedByBar = managed;
+
+        getStyleClass().add("bread-crumb");
     }
 
     /**
@@ -74,52 +104,82 @@ extends Button
         return value;
     }
 
-    private void initButtonShape(
-        boolean isFirst)
+    /**
+     * Gets the index of the crumb in the path. Set by the bar for the
+     * controls it manages.
+     *
+     * @return the index of the crumb in the path.
+     */
+    int getIndex()
     {
-        DoubleExpression height = heightProperty();
-        DoubleExpression arrowWidth = height.divide(3);
-
-        // Draws SVG-path to give button arrow shape.
-        Path path = new Path();
-
-        MoveTo start = new MoveTo(0, 0);
-
-        HLineTo lineToRight = new HLineTo();
-        lineToRight.xProperty().bind(widthProperty().subtract(arrowWidth));
-
-        LineTo lineToRightDown = new LineTo();
-        lineToRightDown.xProperty()
-            .bind(lineToRight.xProperty().add(arrowWidth));
-        lineToRightDown.yProperty().bind(height.divide(2));
-
-        LineTo lineToLeftDown = new LineTo();
-        lineToLeftDown.xProperty().bind(lineToRight.xProperty());
-        lineToLeftDown.yProperty().bind(height);
+        return index;
+    }
 
-        HLineTo lineToLeft = new HLineTo(0);
+    /**
+     * Rebinds the control to a new value and path index. Used by the bar for
+     * the controls it manages, the first crumb of the path gets the shape
+     * without the notch.
+     *
+     * @param index
+     *        the index of the crumb in the path.
+     * @param value
+     *        the new control value.
+     */
+    void rebind(
+        int index,
+        T value)
+    {
+        this.index = index;
+        this.value = value;
 
-        LineTo lineToRightUp = new LineTo();
-        lineToRightUp.xProperty().bind(arrowWidth);
-        lineToRightUp.yProperty().bind(height.divide(2));
+        if (isFirst != (index == 0))
+        {
+            isFirst = index == 0;
+            shapeWidth = 0;
+            requestLayout();
+        }
+    }
 
-        ClosePath closePath = new ClosePath();
+    /**
+     * Determines if the crumb is managed by the bar: created by the
+     * package-private constructor.
+     *
+     * @return {@code true} if the crumb is managed by the bar.
+     */
+    boolean isManagedByBar()
+    {
+        return managedByBar;
+    }
 
-        path.getElements().addAll(start, lineToRight, lineToRightDown,
-            lineToLeftDown, lineToLeft);
+    /**
+     * Gets the width the crumb overlaps the previous crumb with: the arrow
+     * point of the previous crumb enters the notch of this one.
+     *
+     * @param height
+     *        the crumb height.
+     * @return the overlap width.
+     */
+    static double getOverlap(
+        double height)
+    {
+        return ButtonBreadCrumbShapes.getArrowWidth(height) - 2;
+    }
 
-        if (!isFirst)
+    @Override
+    protected void layoutChildren()
+    {
+        super.layoutChildren();
+
+        // Gives button arrow shape, the shapes are shared by the crumbs of
+        // equal size.
+        final double width = getWidth();
+        final double height = getHeight();
+        if (width > 0 && height > 0
+            && (width != shapeWidth || height != shapeHeight))
         {
-            path.getElements().add(lineToRightUp);
-
-            arrowWidth.addListener(i ->
-                Platform.runLater(() ->
-                    HBox.setMargin(this, new Insets(
-                        0d, 0d, 0d, -arrowWidth.doubleValue() + 2))));
+            shapeWidth = width;
+            shapeHeight = height;
+            setShape(ButtonBreadCrumbShapes.get(width, height, isFirst));
         }
-
-        path.getElements().add(closePath);
-
-        setShape(path);
     }
 }
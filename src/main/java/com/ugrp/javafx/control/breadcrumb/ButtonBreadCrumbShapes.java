@@ -0,0 +1,110 @@
+package com.ugrp.javafx.control.breadcrumb;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.scene.shape.ClosePath;
+import javafx.scene.shape.HLineTo;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
+import javafx.scene.shape.Path;
+import javafx.scene.shape.Shape;
+
+/**
+ * Cache of the arrow shapes of {@link ButtonBreadCrumb}. Crumbs of equal size
+ * share one shape instance; the shapes are never changed after creation, so
+ * they can be set to any number of crumbs. The cache should be used on the
+ * JavaFX application thread only.
+ *
+ * @author Oleg Karelin
+ */
+final class ButtonBreadCrumbShapes
+{
+    private static final int CACHE_SIZE = 64;
+
+    private static final Map<Long, Shape> SHAPES =
+        new LinkedHashMap<>(16, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                Map.Entry<Long, Shape> eldest)
+            {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+    private ButtonBreadCrumbShapes()
+    {
+    }
+
+    /**
+     * Gets the width of the arrow point of a crumb with the specified height.
+     *
+     * @param height
+     *        the crumb height.
+     * @return the width of the arrow point.
+     */
+    static double getArrowWidth(
+        double height)
+    {
+        return height / 3;
+    }
+
+    /**
+     * Gets the arrow shape of the specified size.
+     *
+     * @param width
+     *        the crumb width.
+     * @param height
+     *        the crumb height.
+     * @param isFirst
+     *        determines if the crumb is the first one, the first crumb has no
+     *        notch on its left side.
+     * @return the shared arrow shape.
+     */
+    static Shape get(
+        double width,
+        double height,
+        boolean isFirst)
+    {
+        final long w = Math.round(width);
+        final long h = Math.round(height);
+        final Long key = w << 32 | h << 1 | (isFirst ? 1 : 0);
+
+        Shape shape = SHAPES.get(key);
+        if (shape == null)
+        {
+            shape = create(w, h, isFirst);
+            SHAPES.put(key, shape);
+        }
+
+        return shape;
+    }
+
+    private static Shape create(
+        double width,
+        double height,
+        boolean isFirst)
+    {
+        final double arrowWidth = getArrowWidth(height);
+
+        // Draws SVG-path to give button arrow shape.
+        final Path path = new Path(
+            new MoveTo(0, 0),
+            new HLineTo(width - arrowWidth),
+            new LineTo(width, height / 2),
+            new LineTo(width - arrowWidth, height),
+            new HLineTo(0));
+
+        if (!isFirst)
+        {
+            path.getElements().add(new LineTo(arrowWidth, height / 2));
+        }
+
+        path.getElements().add(new ClosePath());
+
+        return path;
+    }
+}
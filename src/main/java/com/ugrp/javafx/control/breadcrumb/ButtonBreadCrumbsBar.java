@@ -8,7 +8,8 @@ import javafx.scene.Node;
 
 /**
  * Breadcrumbs navigation bar. Buttons ({@link ButtonBreadCrumb}) are used as
- * navigation buttons.
+ * navigation buttons. Adjacent buttons overlap, so the arrow point of a button
+ * enters the notch of the next one; the overlap is applied by the bar layout.
  *
  * @param <T>
  *        a control value type.
@@ -32,7 +33,64 @@ extends AbstractBreadCrumbsBar<T>
         BiConsumer<T, Node> onActionConsumer,
         boolean isFirst)
     {
-        return new ButtonBreadCrumb<>(
-            item, textFunction, graphicFunction, onActionConsumer, isFirst);
+        return new ButtonBreadCrumb<>(item, isFirst);
+    }
+
+    @Override
+    protected void layoutChildren()
+    {
+        super.layoutChildren();
+
+        double shift = 0;
+        Node previous = null;
+        for (Node child : getManagedChildren())
+        {
+            if (child instanceof ButtonBreadCrumb
+                && previous instanceof ButtonBreadCrumb)
+            {
+                shift += ButtonBreadCrumb.getOverlap(
+                    child.getLayoutBounds().getHeight());
+            }
+
+            if (shift != 0)
+            {
+                child.setLayoutX(child.getLayoutX() - shift);
+            }
+
+            previous = child;
+        }
+    }
+
+    @Override
+    protected double computePrefWidth(
+        double height)
+    {
+        // The collapsing mode includes the overlap into the path width.
+        if (isCollapsing())
+        {
+            return super.computePrefWidth(height);
+        }
+
+        double overlap = 0;
+        Node previous = null;
+        for (Node child : getManagedChildren())
+        {
+            if (child instanceof ButtonBreadCrumb
+                && previous instanceof ButtonBreadCrumb)
+            {
+                overlap += ButtonBreadCrumb.getOverlap(child.prefHeight(-1));
+            }
+
+            previous = child;
+        }
+
+        return super.computePrefWidth(height) - overlap;
+    }
+
+    @Override
+    double getCrumbOverlap(
+        double height)
+    {
+        return ButtonBreadCrumb.getOverlap(height);
     }
 }
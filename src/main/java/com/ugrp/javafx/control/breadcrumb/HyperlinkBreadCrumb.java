@@ -18,10 +18,18 @@ import javafx.scene.control.Hyperlink;
 public class HyperlinkBreadCrumb<T>
 extends Hyperlink
 {
-    private final T value;
+    /**
+     * Determines if the crumb is managed by the bar.
+     */
+    private final boolean managedByBar;
+
+    private T value;
+
+    private int index;
 
     /**
-     * Creates hyperlink UI-control for breadcrumbs navigation bar.
+     * Creates hyperlink UI-control for breadcrumbs navigation bar. The text
+     * and the graphic are bound to the functions.
      *
      * @param value
      *        the control value.
@@ -38,20 +46,36 @@ extends Hyperlink
         ObjectProperty<Function<T, Node>> graphicFunction,
         BiConsumer<T, Node> onActionConsumer)
     {
-        this.value = value;
+        this(value, false);
 
-        getStyleClass().add("bread-crumb");
-
-        textProperty().bind(
-            Bindings.createStringBinding(
-                () -> textFunction.get().apply(value),
-                textFunction));
-        graphicProperty().bind(
-            Bindings.createObjectBinding(
-                () -> graphicFunction.get().apply(value),
-                graphicFunction));
+        textProperty().bind(Bindings.createStringBinding(
+            () -> textFunction.get().apply(value), textFunction));
+        graphicProperty().bind(Bindings.createObjectBinding(
+            () -> graphicFunction.get().apply(value), graphicFunction));
 
         setOnAction(e -> onActionConsumer.accept(value, this));
+    }
+
+    /**
+     * Creates hyperlink UI-control which text, graphic and action are managed
+     * by the bar.
+     *
+     * @param value
+     *        the control value.
+     */
+    HyperlinkBreadCrumb(
+        T value)
+    {
+        this(value, true);
+    }
+
+    private HyperlinkBreadCrumb(
+        T value,
+        boolean managed)
+    {
+        this.value = value;
+
+        managedByBar = managed;
 
         getStyleClass().add("bread-crumb");
     }
@@ -65,4 +89,45 @@ extends Hyperlink
     {
         return value;
     }
+
+    /**
+     * Gets the index of the crumb in the path. Set by the bar for the
+     * controls it manages.
+     *
+     * @return the index of the crumb in the path.
+     */
+    int getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * Rebinds the control to a new value and path index. Used by the bar for
+     * the controls it manages.
+     *
+     * @param index
+     *        the index of the crumb in the path.
+     * @param value
+     *        the new control value.
+     */
+    void rebind(
+        int index,
+        T value)
+    {
+        this.index = index;
+        this.value = value;
+
+        setVisited(false);
+    }
+
+    /**
+     * Determines if the crumb is managed by the bar: created by the
+     * package-private constructor.
+     *
+     * @return {@code true} if the crumb is managed by the bar.
+     */
+    boolean isManagedByBar()
+    {
+        return managedByBar;
+    }
 }
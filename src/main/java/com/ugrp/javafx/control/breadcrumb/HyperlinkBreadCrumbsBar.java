@@ -32,7 +32,6 @@ extends AbstractBreadCrumbsBar<T>
         BiConsumer<T, Node> onActionConsumer,
         boolean isFirst)
     {
-        return new HyperlinkBreadCrumb<>(item, textFunction, graphicFunction,
-            onActionConsumer);
+        return new HyperlinkBreadCrumb<>(item);
     }
 }
@@ -0,0 +1,4 @@
+/**
+ * Package contains common parts of the Java-FX controls.
+ */
+package com.ugrp.javafx.control;
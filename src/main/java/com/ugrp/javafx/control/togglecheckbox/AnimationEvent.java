@@ -0,0 +1,43 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event of a {@link ToggleCheckBox} slide request.
+ *
+ * @author Oleg Karelin
+ */
+@Name("com.ugrp.javafx.control.ToggleCheckBoxAnimation")
+@Label("ToggleCheckBox Animation")
+@Category({ "JavaFX Controls", "ToggleCheckBox" })
+@Description("Slide of a toggle to its new state: started, reversed or "
+    + "snapped without animation")
+@StackTrace(false)
+final class AnimationEvent
+extends Event
+{
+    static final String STARTED = "started";
+
+    static final String REVERSED = "reversed";
+
+    static final String SNAPPED = "snapped";
+
+    @Label("Action")
+    String action;
+
+    @Label("Animation Mode")
+    String mode;
+
+    @Label("Slide Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long slideDuration;
+
+    @Label("Running Animations")
+    int runningAnimations;
+}
@@ -0,0 +1,34 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event of a {@link SlideAnimator} frame.
+ *
+ * @author Oleg Karelin
+ */
+@Name("com.ugrp.javafx.control.ToggleCheckBoxAnimatorFrame")
+@Label("ToggleCheckBox Animator Frame")
+@Category({ "JavaFX Controls", "ToggleCheckBox" })
+@Description("Movement of all running toggle animations of a scene in one "
+    + "pulse")
+@StackTrace(false)
+final class AnimatorFrameEvent
+extends Event
+{
+    @Label("Animations")
+    int animations;
+
+    @Label("Finished Animations")
+    int finished;
+
+    @Label("Frame Interval")
+    @Timespan(Timespan.NANOSECONDS)
+    long frameInterval;
+}
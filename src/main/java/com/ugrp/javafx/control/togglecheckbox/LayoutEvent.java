@@ -0,0 +1,33 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of a {@link ToggleCheckBox} skin layout.
+ *
+ * @author Oleg Karelin
+ */
+@Name("com.ugrp.javafx.control.ToggleCheckBoxLayout")
+@Label("ToggleCheckBox Layout")
+@Category({ "JavaFX Controls", "ToggleCheckBox" })
+@Description("Layout of the toggle skin children")
+@StackTrace(false)
+final class LayoutEvent
+extends Event
+{
+    @Label("Skin Type")
+    String skinType;
+
+    @Label("Width")
+    double width;
+
+    @Label("Resized")
+    @Description("Determines if the children were resized, an unchanged "
+        + "size is not laid out again")
+    boolean resized;
+}
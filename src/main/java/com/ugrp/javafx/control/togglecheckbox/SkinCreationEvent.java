@@ -0,0 +1,23 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event of a default {@link ToggleCheckBox} skin creation.
+ *
+ * @author Oleg Karelin
+ */
+@Name("com.ugrp.javafx.control.ToggleCheckBoxSkinCreation")
+@Label("ToggleCheckBox Skin Creation")
+@Category({ "JavaFX Controls", "ToggleCheckBox" })
+@Description("Creation of the default skin of a toggle")
+final class SkinCreationEvent
+extends Event
+{
+    @Label("Skin Type")
+    String skinType;
+}
@@ -0,0 +1,232 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import java.util.function.DoubleConsumer;
+
+import javafx.animation.Interpolator;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+
+/**
+ * Slide animation state of a single {@link ToggleCheckBox}. The position of
+ * the toggle is a value between {@code 0} (unselected) and {@code 1}
+ * (selected), it is passed to the skin on every change. Running animations are
+ * moved by the {@link SlideAnimator} of the scene the toggle belongs to.
+ * <p>
+ * An animation always spans the whole slide from one end to the other, its
+ * progress is kept as a fraction. A running animation is reversed by
+ * mirroring the fraction: the easing curve is symmetric, so the toggle
+ * continues from its current position without a jump.</p>
+ *
+ * @author Oleg Karelin
+ */
+final class SlideAnimation
+{
+    private final Node node;
+
+    private final DoubleConsumer positionConsumer;
+
+    private double position;
+
+    private double startPosition;
+
+    private double endPosition;
+
+    private double fraction;
+
+    private double startFraction;
+
+    private long startTime;
+
+    private long duration;
+
+    private long frameTime;
+
+    private SlideAnimator animator;
+
+    /**
+     * Index of this animation in the {@link SlideAnimator} which drives it.
+     */
+    int slot;
+
+    /**
+     * Creates slide animation state.
+     *
+     * @param node
+     *        the animated node, its scene defines the animation driver.
+     * @param positionConsumer
+     *        consumer of the position changes.
+     * @param position
+     *        the initial position.
+     */
+    SlideAnimation(
+        Node node,
+        DoubleConsumer positionConsumer,
+        double position)
+    {
+        this.node = node;
+        this.positionConsumer = positionConsumer;
+        this.position = position;
+    }
+
+    /**
+     * Gets the current position.
+     *
+     * @return the current position.
+     */
+    double getPosition()
+    {
+        return position;
+    }
+
+    /**
+     * Determines if the animation is running.
+     *
+     * @return {@code true} if the animation is running.
+     */
+    boolean isRunning()
+    {
+        return animator != null;
+    }
+
+    /**
+     * Stops the animation and moves the toggle to the specified position.
+     *
+     * @param position
+     *        the position.
+     */
+    void snapTo(
+        double position)
+    {
+        stop();
+
+        this.position = position;
+        positionConsumer.accept(position);
+    }
+
+    /**
+     * Slides the toggle to the specified end position. A running animation is
+     * reversed from its current position. The toggle is moved immediately if
+     * it is not shown in a scene or if the
+     * {@link ToggleCheckBoxAnimationGovernor} does not allow a new animation.
+     *
+     * @param position
+     *        the target end position, {@code 0} or {@code 1}.
+     */
+    void animateTo(
+        double position)
+    {
+        if (animator != null)
+        {
+            if (position != endPosition)
+            {
+                reverse();
+                commitEvent(AnimationEvent.REVERSED);
+            }
+
+            return;
+        }
+
+        if (position == this.position)
+        {
+            return;
+        }
+
+        Scene scene = node.getScene();
+        if (scene == null || !ToggleCheckBoxAnimationGovernor.mayAnimate())
+        {
+            snapTo(position);
+            commitEvent(AnimationEvent.SNAPPED);
+            return;
+        }
+
+        startPosition = 1 - position;
+        endPosition = position;
+        fraction = 0;
+        startFraction = 0;
+        startTime = -1;
+        duration = ToggleCheckBoxAnimationGovernor.getSlideDuration();
+
+        this.position = startPosition;
+        positionConsumer.accept(startPosition);
+
+        animator = SlideAnimator.of(scene);
+        animator.add(this);
+
+        commitEvent(AnimationEvent.STARTED);
+    }
+
+    private void commitEvent(
+        String action)
+    {
+        final AnimationEvent event = new AnimationEvent();
+        if (event.shouldCommit())
+        {
+            event.action = action;
+            event.mode = ToggleCheckBoxAnimationGovernor.getMode().name();
+            event.slideDuration = animator != null ? duration : 0;
+            event.runningAnimations =
+                ToggleCheckBoxAnimationGovernor.getRunningAnimations();
+            event.commit();
+        }
+    }
+
+    private void reverse()
+    {
+        final double end = startPosition;
+        startPosition = endPosition;
+        endPosition = end;
+
+        startFraction = 1 - fraction;
+        startTime = startTime < 0 ? -1 : frameTime;
+    }
+
+    /**
+     * Stops the animation at the current position.
+     */
+    void stop()
+    {
+        if (animator != null)
+        {
+            animator.remove(this);
+            animator = null;
+        }
+    }
+
+    /**
+     * Moves the toggle to the position for the specified frame time.
+     *
+     * @param now
+     *        the frame time in nanoseconds.
+     * @return {@code true} if the animation is still running.
+     */
+    boolean tick(
+        long now)
+    {
+        if (startTime < 0)
+        {
+            startTime = now;
+        }
+
+        frameTime = now;
+        fraction = startFraction + (double) (now - startTime) / duration;
+        if (fraction >= 1)
+        {
+            position = endPosition;
+            positionConsumer.accept(position);
+            return false;
+        }
+
+        position = Interpolator.EASE_BOTH.interpolate(
+            startPosition, endPosition, fraction);
+        positionConsumer.accept(position);
+        return true;
+    }
+
+    /**
+     * Notifies that the driver has finished the animation.
+     */
+    void finished()
+    {
+        animator = null;
+    }
+}
@@ -0,0 +1,152 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import java.util.Arrays;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.Scene;
+
+/**
+ * Animation driver which moves all running {@link SlideAnimation}s of one
+ * scene from a single {@link AnimationTimer}. The timer runs only while at
+ * least one animation is active. The frame times are reported to the
+ * {@link ToggleCheckBoxAnimationGovernor}, which samples each pulse once
+ * however many scenes animate in it.
+ *
+ * @author Oleg Karelin
+ */
+final class SlideAnimator
+extends AnimationTimer
+{
+    private static final Object SCENE_PROPERTY_KEY = SlideAnimator.class;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private SlideAnimation[] animations;
+
+    private int size;
+
+    private boolean running;
+
+    private long lastFrameTime;
+
+    private SlideAnimator()
+    {
+        animations = new SlideAnimation[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Gets the animation driver of the specified scene. The driver is created
+     * on demand and is kept in the scene properties.
+     *
+     * @param scene
+     *        the scene.
+     * @return the animation driver of the scene.
+     */
+    static SlideAnimator of(
+        Scene scene)
+    {
+        Object animator = scene.getProperties().get(SCENE_PROPERTY_KEY);
+        if (animator == null)
+        {
+            animator = new SlideAnimator();
+            scene.getProperties().put(SCENE_PROPERTY_KEY, animator);
+        }
+
+        return (SlideAnimator) animator;
+    }
+
+    /**
+     * Adds the animation to the driven ones and starts the timer if needed.
+     *
+     * @param animation
+     *        the animation to add.
+     */
+    void add(
+        SlideAnimation animation)
+    {
+        if (size == animations.length)
+        {
+            animations = Arrays.copyOf(animations, size * 2);
+        }
+
+        animation.slot = size;
+        animations[size++] = animation;
+        ToggleCheckBoxAnimationGovernor.animationStarted();
+
+        if (!running)
+        {
+            running = true;
+            lastFrameTime = -1;
+            start();
+        }
+    }
+
+    /**
+     * Removes the animation from the driven ones.
+     *
+     * @param animation
+     *        the animation to remove.
+     */
+    void remove(
+        SlideAnimation animation)
+    {
+        removeAt(animation.slot);
+    }
+
+    private void removeAt(
+        int slot)
+    {
+        SlideAnimation last = animations[--size];
+        animations[slot] = last;
+        last.slot = slot;
+        animations[size] = null;
+        ToggleCheckBoxAnimationGovernor.animationStopped();
+    }
+
+    @Override
+    public void handle(
+        long now)
+    {
+        final AnimatorFrameEvent event = new AnimatorFrameEvent();
+        event.begin();
+
+        final int animated = size;
+        final long frameInterval = lastFrameTime >= 0
+            ? now - lastFrameTime : 0;
+        if (lastFrameTime >= 0)
+        {
+            ToggleCheckBoxAnimationGovernor.sampleFrame(now, frameInterval);
+        }
+        lastFrameTime = now;
+
+        int i = 0;
+        while (i < size)
+        {
+            SlideAnimation animation = animations[i];
+            if (animation.tick(now))
+            {
+                i++;
+            }
+            else
+            {
+                removeAt(i);
+                animation.finished();
+            }
+        }
+
+        if (size == 0)
+        {
+            running = false;
+            stop();
+        }
+
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.animations = animated;
+            event.finished = animated - size;
+            event.frameInterval = frameInterval;
+            event.commit();
+        }
+    }
+}
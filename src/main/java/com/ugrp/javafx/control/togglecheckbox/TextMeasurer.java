@@ -0,0 +1,124 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.BoundingBox;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * Measures caption sizes of {@link ToggleCheckBox} skins. The measured sizes
+ * are cached by font and text and are shared by all skins. Should be used on
+ * the JavaFX application thread only.
+ *
+ * @author Oleg Karelin
+ */
+final class TextMeasurer
+{
+    private static final int CACHE_SIZE = 1024;
+
+    private static final Bounds EMPTY = new BoundingBox(0, 0, 0, 0);
+
+    private static final Map<Key, Bounds> CACHE =
+        new LinkedHashMap<Key, Bounds>(64, 0.75f, true)
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(
+                Map.Entry<Key, Bounds> eldest)
+            {
+                return size() > CACHE_SIZE;
+            }
+        };
+
+    private static Text measuredText;
+
+    private TextMeasurer()
+    {
+    }
+
+    /**
+     * Gets the layout bounds of the text displayed with the font.
+     *
+     * @param text
+     *        the text, may be {@code null}.
+     * @param font
+     *        the font.
+     * @return the layout bounds of the text, empty bounds for an empty text.
+     */
+    static Bounds measure(
+        String text,
+        Font font)
+    {
+        if (text == null || text.isEmpty())
+        {
+            return EMPTY;
+        }
+
+        final Key key = new Key(text, font);
+        Bounds bounds = CACHE.get(key);
+        if (bounds == null)
+        {
+            if (measuredText == null)
+            {
+                measuredText = new Text();
+            }
+
+            measuredText.setFont(font);
+            measuredText.setText(text);
+            bounds = measuredText.getLayoutBounds();
+
+            CACHE.put(key, bounds);
+        }
+
+        return bounds;
+    }
+
+    private static final class Key
+    {
+        private final String text;
+
+        private final Font font;
+
+        private final int hash;
+
+        Key(
+            String text,
+            Font font)
+        {
+            this.text = text;
+            this.font = font;
+
+            hash = 31 * text.hashCode() + font.hashCode();
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(
+            Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+
+            if (!(obj instanceof Key))
+            {
+                return false;
+            }
+
+            final Key other = (Key) obj;
+            return hash == other.hash
+                && text.equals(other.text)
+                && font.equals(other.font);
+        }
+    }
+}
@@ -1,7 +1,13 @@
 package com.ugrp.javafx.control.togglecheckbox;
 
+import java.util.Objects;
+
+import com.ugrp.javafx.control.ControlStylesheet;
+import com.ugrp.javafx.control.StylesheetMode;
+
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.scene.Scene;
 import javafx.scene.control.CheckBox;
 import javafx.scene.control.Skin;
 
@@ -13,17 +19,25 @@ import javafx.scene.control.Skin;
 public class ToggleCheckBox
 extends CheckBox
 {
+    private static final ControlStylesheet STYLESHEET =
+        new ControlStylesheet(ToggleCheckBox.class, "toggle-check-box.css");
+
+    private static volatile ToggleCheckBoxSkinType defaultSkinType =
+        ToggleCheckBoxSkinType.NODES;
+
     private final StringProperty checkedText;
 
     private final StringProperty uncheckedText;
 
+    private boolean animationSuppressed;
+
     /**
      * Creates UI-control &laquo;Toggle check box&raquo;.
      */
     public ToggleCheckBox()
     {
-        getStylesheets().add(ToggleCheckBox.class
-            .getResource("toggle-check-box.css").toExternalForm());
+        getStyleClass().add("toggle-check-box");
+        STYLESHEET.register(this);
 
         checkedText = new SimpleStringProperty();
         uncheckedText = new SimpleStringProperty();
@@ -48,10 +62,125 @@ extends CheckBox
         setUncheckedText(uncheckedCaption);
     }
 
+    /**
+     * Gets the registration mode of the control stylesheet.
+     *
+     * @return the registration mode of the control stylesheet.
+     */
+    public static StylesheetMode getStylesheetMode()
+    {
+        return STYLESHEET.getMode();
+    }
+
+    /**
+     * Sets the registration mode of the control stylesheet. By default the
+     * stylesheet is shared as the user agent stylesheet of the controls. The
+     * mode affects controls created after the change.
+     *
+     * @param mode
+     *        the registration mode of the control stylesheet.
+     */
+    public static void setStylesheetMode(
+        StylesheetMode mode)
+    {
+        STYLESHEET.setMode(mode);
+    }
+
+    /**
+     * Installs the control stylesheet into the scene stylesheets. Should be
+     * used with the {@link StylesheetMode#SCENE} mode.
+     *
+     * @param scene
+     *        the scene.
+     */
+    public static void installStylesheet(
+        Scene scene)
+    {
+        STYLESHEET.install(scene);
+    }
+
+    /**
+     * Gets the type of the default skin of the controls.
+     *
+     * @return the type of the default skin of the controls.
+     */
+    public static ToggleCheckBoxSkinType getDefaultSkinType()
+    {
+        return defaultSkinType;
+    }
+
+    /**
+     * Sets the type of the default skin of the controls. The type affects
+     * controls which skins are created after the change. The skin of a single
+     * control can be selected by {@link #setSkin(Skin)} or by the
+     * {@code -fx-skin} CSS property.
+     *
+     * @param skinType
+     *        the type of the default skin of the controls.
+     */
+    public static void setDefaultSkinType(
+        ToggleCheckBoxSkinType skinType)
+    {
+        defaultSkinType = Objects.requireNonNull(skinType);
+    }
+
+    /**
+     * Runs the action which changes the control state without slide animation.
+     *
+     * @param action
+     *        the action to run.
+     */
+    void runWithoutAnimation(
+        Runnable action)
+    {
+        boolean suppressed = animationSuppressed;
+        animationSuppressed = true;
+        try
+        {
+            action.run();
+        }
+        finally
+        {
+            animationSuppressed = suppressed;
+        }
+    }
+
+    /**
+     * Determines if slide animation of the control is suppressed.
+     *
+     * @return {@code true} if slide animation of the control is suppressed.
+     */
+    boolean isAnimationSuppressed()
+    {
+        return animationSuppressed;
+    }
+
+    @Override
+    public String getUserAgentStylesheet()
+    {
+        return STYLESHEET.getUserAgentStylesheet();
+    }
+
     @Override
     protected Skin<?> createDefaultSkin()
     {
-        return new ToggleCheckBoxSkin(this);
+        final ToggleCheckBoxSkinType skinType = defaultSkinType;
+
+        final SkinCreationEvent event = new SkinCreationEvent();
+        event.begin();
+
+        final Skin<?> skin = skinType == ToggleCheckBoxSkinType.CANVAS
+            ? new ToggleCheckBoxCanvasSkin(this)
+            : new ToggleCheckBoxSkin(this);
+
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.skinType = skinType.name();
+            event.commit();
+        }
+
+        return skin;
     }
 
     /**
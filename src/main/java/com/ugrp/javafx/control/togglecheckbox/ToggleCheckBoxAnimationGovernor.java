@@ -0,0 +1,336 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
+/**
+ * Library-wide governor of {@link ToggleCheckBox} animations. The governor
+ * samples the frame time of the pulses which move the toggles and shortens
+ * the slide animation when the frame budget is exceeded, or disables it when
+ * the frame time exceeds twice the budget. A toggle is not animated either
+ * when the maximum number of animations is already running. The animations
+ * can also be disabled manually by the {@link #reducedMotionProperty()}
+ * switch.
+ * <p>
+ * The governor should be used on the JavaFX application thread only.</p>
+ *
+ * @author Oleg Karelin
+ */
+public final class ToggleCheckBoxAnimationGovernor
+{
+    private static final double SLIDE_DURATION = 180;
+
+    private static final double REDUCED_SLIDE_DURATION = 90;
+
+    private static final double RECOVERY_FACTOR = 0.8;
+
+    private static final double SMOOTHING_FACTOR = 0.1;
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private static final long STALE_SAMPLE_NANOS = 1_000L * NANOS_PER_MILLI;
+
+    private static final BooleanProperty REDUCED_MOTION =
+        new SimpleBooleanProperty(
+            ToggleCheckBoxAnimationGovernor.class, "reducedMotion", false);
+
+    private static final DoubleProperty FRAME_BUDGET =
+        new SimpleDoubleProperty(
+            ToggleCheckBoxAnimationGovernor.class, "frameBudget", 25);
+
+    private static final IntegerProperty MAX_RUNNING_ANIMATIONS =
+        new SimpleIntegerProperty(
+            ToggleCheckBoxAnimationGovernor.class, "maxRunningAnimations",
+            200);
+
+    private static final ReadOnlyObjectWrapper<ToggleCheckBoxAnimationMode>
+        MODE = new ReadOnlyObjectWrapper<>(
+            ToggleCheckBoxAnimationGovernor.class, "mode",
+            ToggleCheckBoxAnimationMode.FULL);
+
+    private static ToggleCheckBoxAnimationMode measuredMode =
+        ToggleCheckBoxAnimationMode.FULL;
+
+    private static double frameTime;
+
+    private static long lastSampleTime;
+
+    private static int runningAnimations;
+
+    static
+    {
+        REDUCED_MOTION.addListener(observable -> updateMode());
+        FRAME_BUDGET.addListener(observable -> updateMeasuredMode());
+    }
+
+    private ToggleCheckBoxAnimationGovernor()
+    {
+    }
+
+    /**
+     * Determines if the toggle animations are disabled manually.
+     *
+     * @return {@code true} if the toggle animations are disabled manually.
+     */
+    public static boolean isReducedMotion()
+    {
+        return REDUCED_MOTION.get();
+    }
+
+    /**
+     * Gets the switch which disables the toggle animations manually.
+     *
+     * @return the switch which disables the toggle animations manually.
+     */
+    public static BooleanProperty reducedMotionProperty()
+    {
+        return REDUCED_MOTION;
+    }
+
+    /**
+     * Sets the switch which disables the toggle animations manually.
+     *
+     * @param reducedMotion
+     *        {@code true} to disable the toggle animations.
+     */
+    public static void setReducedMotion(
+        boolean reducedMotion)
+    {
+        REDUCED_MOTION.set(reducedMotion);
+    }
+
+    /**
+     * Gets the frame budget in milliseconds.
+     *
+     * @return the frame budget in milliseconds.
+     */
+    public static double getFrameBudget()
+    {
+        return FRAME_BUDGET.get();
+    }
+
+    /**
+     * Gets the frame budget in milliseconds. The animations are shortened
+     * when the average frame time exceeds the budget and are disabled when it
+     * exceeds twice the budget.
+     *
+     * @return the frame budget in milliseconds.
+     */
+    public static DoubleProperty frameBudgetProperty()
+    {
+        return FRAME_BUDGET;
+    }
+
+    /**
+     * Sets the frame budget in milliseconds.
+     *
+     * @param frameBudget
+     *        the frame budget in milliseconds.
+     */
+    public static void setFrameBudget(
+        double frameBudget)
+    {
+        FRAME_BUDGET.set(frameBudget);
+    }
+
+    /**
+     * Gets the maximum number of simultaneously running animations.
+     *
+     * @return the maximum number of simultaneously running animations.
+     */
+    public static int getMaxRunningAnimations()
+    {
+        return MAX_RUNNING_ANIMATIONS.get();
+    }
+
+    /**
+     * Gets the maximum number of simultaneously running animations. Toggles
+     * changed while the maximum is reached move to their new state
+     * immediately.
+     *
+     * @return the maximum number of simultaneously running animations.
+     */
+    public static IntegerProperty maxRunningAnimationsProperty()
+    {
+        return MAX_RUNNING_ANIMATIONS;
+    }
+
+    /**
+     * Sets the maximum number of simultaneously running animations.
+     *
+     * @param maxRunningAnimations
+     *        the maximum number of simultaneously running animations.
+     */
+    public static void setMaxRunningAnimations(
+        int maxRunningAnimations)
+    {
+        MAX_RUNNING_ANIMATIONS.set(maxRunningAnimations);
+    }
+
+    /**
+     * Gets the current animation mode.
+     *
+     * @return the current animation mode.
+     */
+    public static ToggleCheckBoxAnimationMode getMode()
+    {
+        return MODE.get();
+    }
+
+    /**
+     * Gets the current animation mode.
+     *
+     * @return the current animation mode.
+     */
+    public static ReadOnlyObjectProperty<ToggleCheckBoxAnimationMode>
+        modeProperty()
+    {
+        return MODE.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the number of currently running animations.
+     *
+     * @return the number of currently running animations.
+     */
+    public static int getRunningAnimations()
+    {
+        return runningAnimations;
+    }
+
+    /**
+     * Determines if a new animation may be started.
+     *
+     * @return {@code true} if a new animation may be started.
+     */
+    static boolean mayAnimate()
+    {
+        recoverIfStale();
+
+        return MODE.get() != ToggleCheckBoxAnimationMode.DISABLED
+            && runningAnimations < MAX_RUNNING_ANIMATIONS.get();
+    }
+
+    /**
+     * Gets the slide duration in nanoseconds for the current mode.
+     *
+     * @return the slide duration in nanoseconds.
+     */
+    static long getSlideDuration()
+    {
+        final double duration = MODE.get() == ToggleCheckBoxAnimationMode.FULL
+            ? SLIDE_DURATION : REDUCED_SLIDE_DURATION;
+
+        return (long) (duration * NANOS_PER_MILLI);
+    }
+
+    /**
+     * Notifies that an animation is started.
+     */
+    static void animationStarted()
+    {
+        runningAnimations++;
+    }
+
+    /**
+     * Notifies that an animation is finished or stopped.
+     */
+    static void animationStopped()
+    {
+        runningAnimations--;
+    }
+
+    /**
+     * Adds a frame time sample. The animators of all scenes get the same
+     * frame time in one pulse, so only the first of them adds the sample of
+     * the pulse.
+     *
+     * @param now
+     *        the frame time.
+     * @param interval
+     *        the interval since the previous frame in nanoseconds.
+     */
+    static void sampleFrame(
+        long now,
+        long interval)
+    {
+        if (now == lastSampleTime)
+        {
+            return;
+        }
+
+        final double sample = (double) interval / NANOS_PER_MILLI;
+
+        if (now - lastSampleTime > STALE_SAMPLE_NANOS)
+        {
+            frameTime = sample;
+        }
+        else
+        {
+            frameTime += SMOOTHING_FACTOR * (sample - frameTime);
+        }
+
+        lastSampleTime = now;
+
+        updateMeasuredMode();
+    }
+
+    /**
+     * Returns to the full mode if no frames were sampled for a while: no
+     * frames are sampled while the animations are disabled.
+     */
+    private static void recoverIfStale()
+    {
+        if (measuredMode != ToggleCheckBoxAnimationMode.FULL
+            && System.nanoTime() - lastSampleTime > STALE_SAMPLE_NANOS)
+        {
+            measuredMode = ToggleCheckBoxAnimationMode.FULL;
+            updateMode();
+        }
+    }
+
+    private static void updateMeasuredMode()
+    {
+        final double budget = FRAME_BUDGET.get();
+
+        // Leaves a mode only when the frame time falls clearly below its
+        // threshold, so the mode does not flap around the threshold.
+        ToggleCheckBoxAnimationMode mode;
+        if (frameTime > 2 * budget)
+        {
+            mode = ToggleCheckBoxAnimationMode.DISABLED;
+        }
+        else if (frameTime > budget)
+        {
+            mode = measuredMode == ToggleCheckBoxAnimationMode.DISABLED
+                && frameTime > 2 * budget * RECOVERY_FACTOR
+                    ? ToggleCheckBoxAnimationMode.DISABLED
+                    : ToggleCheckBoxAnimationMode.REDUCED;
+        }
+        else
+        {
+            mode = measuredMode != ToggleCheckBoxAnimationMode.FULL
+                && frameTime > budget * RECOVERY_FACTOR
+                    ? ToggleCheckBoxAnimationMode.REDUCED
+                    : ToggleCheckBoxAnimationMode.FULL;
+        }
+
+        if (mode != measuredMode)
+        {
+            measuredMode = mode;
+            updateMode();
+        }
+    }
+
+    private static void updateMode()
+    {
+        MODE.set(REDUCED_MOTION.get() ? ToggleCheckBoxAnimationMode.DISABLED
+            : measuredMode);
+    }
+}
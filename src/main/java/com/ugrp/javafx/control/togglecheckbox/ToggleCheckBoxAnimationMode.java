@@ -0,0 +1,24 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+/**
+ * Animation mode of {@link ToggleCheckBox} controls.
+ *
+ * @author Oleg Karelin
+ */
+public enum ToggleCheckBoxAnimationMode
+{
+    /**
+     * Toggles slide with the full duration.
+     */
+    FULL,
+
+    /**
+     * Toggles slide with a shortened duration.
+     */
+    REDUCED,
+
+    /**
+     * Toggles move to their new state immediately.
+     */
+    DISABLED
+}
@@ -0,0 +1,216 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import java.util.Collection;
+import java.util.Map;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+/**
+ * Utility which changes the selection of many {@link ToggleCheckBox} controls
+ * at once. Only toggles which are visible on the screen are animated, at most
+ * the specified number of them; all other toggles are moved to their new
+ * state immediately.
+ *
+ * @author Oleg Karelin
+ */
+public final class ToggleCheckBoxBulkSelection
+{
+    private static volatile int defaultMaxAnimated = 64;
+
+    private ToggleCheckBoxBulkSelection()
+    {
+    }
+
+    /**
+     * Gets the default maximum number of toggles animated by one bulk change.
+     *
+     * @return the default maximum number of animated toggles.
+     */
+    public static int getDefaultMaxAnimated()
+    {
+        return defaultMaxAnimated;
+    }
+
+    /**
+     * Sets the default maximum number of toggles animated by one bulk change.
+     *
+     * @param maxAnimated
+     *        the default maximum number of animated toggles, {@code 0}
+     *        disables animation of bulk changes.
+     */
+    public static void setDefaultMaxAnimated(
+        int maxAnimated)
+    {
+        if (maxAnimated < 0)
+        {
+            throw new IllegalArgumentException(
+                "maxAnimated must not be negative: " + maxAnimated);
+        }
+
+        defaultMaxAnimated = maxAnimated;
+    }
+
+    /**
+     * Sets the selection state of the toggles.
+     *
+     * @param toggles
+     *        the toggles to change.
+     * @param selected
+     *        the new selection state.
+     */
+    public static void setSelected(
+        Collection<? extends ToggleCheckBox> toggles,
+        boolean selected)
+    {
+        setSelected(toggles, selected, defaultMaxAnimated);
+    }
+
+    /**
+     * Sets the selection state of the toggles.
+     *
+     * @param toggles
+     *        the toggles to change.
+     * @param selected
+     *        the new selection state.
+     * @param maxAnimated
+     *        the maximum number of animated toggles.
+     */
+    public static void setSelected(
+        Collection<? extends ToggleCheckBox> toggles,
+        boolean selected,
+        int maxAnimated)
+    {
+        int animated = 0;
+        for (ToggleCheckBox toggle : toggles)
+        {
+            if (select(toggle, selected, animated < maxAnimated))
+            {
+                animated++;
+            }
+        }
+    }
+
+    /**
+     * Sets the selection state of each toggle to the mapped value.
+     *
+     * @param selection
+     *        the new selection state of each toggle.
+     */
+    public static void setSelected(
+        Map<? extends ToggleCheckBox, Boolean> selection)
+    {
+        setSelected(selection, defaultMaxAnimated);
+    }
+
+    /**
+     * Sets the selection state of each toggle to the mapped value.
+     *
+     * @param selection
+     *        the new selection state of each toggle.
+     * @param maxAnimated
+     *        the maximum number of animated toggles.
+     */
+    public static void setSelected(
+        Map<? extends ToggleCheckBox, Boolean> selection,
+        int maxAnimated)
+    {
+        int animated = 0;
+        for (Map.Entry<? extends ToggleCheckBox, Boolean> entry
+            : selection.entrySet())
+        {
+            if (select(entry.getKey(), entry.getValue(),
+                animated < maxAnimated))
+            {
+                animated++;
+            }
+        }
+    }
+
+    /**
+     * Sets the selection state of the toggle.
+     *
+     * @param toggle
+     *        the toggle.
+     * @param selected
+     *        the new selection state.
+     * @param mayAnimate
+     *        determines if the change may be animated.
+     * @return {@code true} if the change is animated.
+     */
+    static boolean select(
+        ToggleCheckBox toggle,
+        boolean selected,
+        boolean mayAnimate)
+    {
+        if (toggle.isSelected() == selected)
+        {
+            return false;
+        }
+
+        if (mayAnimate && isOnScreen(toggle))
+        {
+            toggle.setSelected(selected);
+            return true;
+        }
+
+        toggle.runWithoutAnimation(() -> toggle.setSelected(selected));
+        return false;
+    }
+
+    /**
+     * Determines if the node is visible in a showing window and is not
+     * clipped out by its scene or its ancestors.
+     *
+     * @param node
+     *        the node.
+     * @return {@code true} if the node is visible on the screen.
+     */
+    static boolean isOnScreen(
+        Node node)
+    {
+        final Scene scene = node.getScene();
+        if (scene == null)
+        {
+            return false;
+        }
+
+        final Window window = scene.getWindow();
+        if (window == null || !window.isShowing())
+        {
+            return false;
+        }
+
+        for (Node n = node; n != null; n = n.getParent())
+        {
+            if (!n.isVisible())
+            {
+                return false;
+            }
+        }
+
+        final Bounds sceneBounds = node.localToScene(node.getLayoutBounds());
+        if (sceneBounds.getMaxX() < 0 || sceneBounds.getMaxY() < 0
+            || sceneBounds.getMinX() > scene.getWidth()
+            || sceneBounds.getMinY() > scene.getHeight())
+        {
+            return false;
+        }
+
+        for (Parent parent = node.getParent(); parent != null;
+            parent = parent.getParent())
+        {
+            final Node clip = parent.getClip();
+            if (clip != null && !clip.getBoundsInParent().intersects(
+                parent.sceneToLocal(sceneBounds)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
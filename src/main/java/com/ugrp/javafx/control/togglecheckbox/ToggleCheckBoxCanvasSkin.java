@@ -0,0 +1,267 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.skin.CheckBoxSkin;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Lightweight skin for {@link ToggleCheckBox} control. The track, the thumb
+ * and the captions are drawn on a single {@link Canvas} without effects, so
+ * the toggle adds one node to the scene graph. The {@code box} of the check
+ * box skin is removed from the children, it only carries the measured size
+ * of the canvas for the size computations of the check box skin. The colors
+ * of the skin are not styled by the control stylesheet.
+ *
+ * @author Oleg Karelin
+ */
+public class ToggleCheckBoxCanvasSkin
+extends CheckBoxSkin
+{
+    private static final double BOX_HEIGHT = 32;
+
+    private static final double BOX_PADDING = 2;
+
+    private static final double THUMB_WIDTH = 24;
+
+    private static final double THUMB_HEIGHT = 24;
+
+    private static final double THUMB_PADDING = 4;
+
+    private static final Color BORDER_COLOR = Color.web("#a5a5a5");
+
+    private static final Color UNSELECTED_COLOR = Color.web("#bcbcbc");
+
+    private static final Color SELECTED_COLOR = Color.web("#78d302");
+
+    private static final Color THUMB_COLOR = Color.web("#f7f8f5");
+
+    private static final Color THUMB_SHADOW_COLOR = Color.rgb(0, 0, 0, 0.2);
+
+    private static final Color TEXT_COLOR = Color.WHITE;
+
+    private final StackPane box;
+
+    private final Canvas canvas;
+
+    private SlideAnimation slide;
+
+    private final InvalidationListener selectedListener =
+        observable -> toggle();
+
+    private final InvalidationListener captionListener = observable -> {
+        updateBoxSize();
+        getSkinnable().requestLayout();
+        draw();
+    };
+
+    private final WeakInvalidationListener weakSelectedListener =
+        new WeakInvalidationListener(selectedListener);
+
+    private final WeakInvalidationListener weakCaptionListener =
+        new WeakInvalidationListener(captionListener);
+
+    /**
+     * Creates lightweight skin for {@link ToggleCheckBox} control.
+     *
+     * @param slideBox
+     *        UI-control {@link ToggleCheckBox}.
+     */
+    public ToggleCheckBoxCanvasSkin(
+        ToggleCheckBox slideBox)
+    {
+        super(slideBox);
+
+        box = ToggleCheckBoxSkin.findBox(this);
+        canvas = new Canvas();
+
+        updateChildren();
+        updateBoxSize();
+
+        slide = new SlideAnimation(slideBox, this::applyPosition,
+            slideBox.isSelected() ? 1 : 0);
+
+        registerListeners();
+    }
+
+    private ToggleCheckBox getToggleCheckBox()
+    {
+        return (ToggleCheckBox) getSkinnable();
+    }
+
+    private void registerListeners()
+    {
+        final ToggleCheckBox slideBox = getToggleCheckBox();
+
+        slideBox.selectedProperty().addListener(weakSelectedListener);
+        slideBox.checkedTextProperty().addListener(weakCaptionListener);
+        slideBox.uncheckedTextProperty().addListener(weakCaptionListener);
+        slideBox.fontProperty().addListener(weakCaptionListener);
+    }
+
+    @Override
+    public void dispose()
+    {
+        final ToggleCheckBox slideBox = getToggleCheckBox();
+        if (slideBox != null)
+        {
+            slideBox.selectedProperty().removeListener(weakSelectedListener);
+            slideBox.checkedTextProperty().removeListener(weakCaptionListener);
+            slideBox.uncheckedTextProperty()
+                .removeListener(weakCaptionListener);
+            slideBox.fontProperty().removeListener(weakCaptionListener);
+        }
+
+        slide.stop();
+
+        getChildren().remove(canvas);
+
+        super.dispose();
+    }
+
+    @Override
+    protected void updateChildren()
+    {
+        super.updateChildren();
+
+        if (canvas != null)
+        {
+            getChildren().remove(box);
+            getChildren().add(canvas);
+        }
+    }
+
+    @Override
+    protected void layoutChildren(
+        final double x,
+        final double y,
+        final double w,
+        final double h)
+    {
+        final LayoutEvent event = new LayoutEvent();
+        event.begin();
+
+        final ToggleCheckBox checkBox = getToggleCheckBox();
+
+        final double computedWidth = Math.max(
+            checkBox.prefWidth(-1), checkBox.minWidth(-1));
+
+        // Nothing to redraw if the canvas size is not changed: the canvas is
+        // redrawn on every change of the position or the captions.
+        final boolean resized = computedWidth != canvas.getWidth()
+            || BOX_HEIGHT != canvas.getHeight();
+        if (resized)
+        {
+            canvas.setWidth(computedWidth);
+            canvas.setHeight(BOX_HEIGHT);
+
+            draw();
+        }
+
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.skinType = ToggleCheckBoxSkinType.CANVAS.name();
+            event.width = computedWidth;
+            event.resized = resized;
+            event.commit();
+        }
+    }
+
+    private void updateBoxSize()
+    {
+        final ToggleCheckBox checkBox = getToggleCheckBox();
+        final Font font = checkBox.getFont();
+
+        final double width = BOX_PADDING * 2 + Math.max(THUMB_WIDTH, Math.max(
+            TextMeasurer.measure(checkBox.getCheckedText(), font).getWidth(),
+            TextMeasurer.measure(checkBox.getUncheckedText(), font)
+                .getWidth()));
+        final double height = BOX_PADDING * 2 + THUMB_HEIGHT;
+
+        box.setMinSize(width, height);
+        box.setPrefSize(width + THUMB_WIDTH - 2d, height);
+    }
+
+    private void applyPosition(
+        double position)
+    {
+        draw();
+    }
+
+    private void draw()
+    {
+        final ToggleCheckBox checkBox = getToggleCheckBox();
+        final double width = canvas.getWidth();
+        final double height = canvas.getHeight();
+        final double position = slide.getPosition();
+
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
+
+        if (width <= 0 || height <= 0)
+        {
+            return;
+        }
+
+        gc.setFill(BORDER_COLOR);
+        gc.fillRoundRect(0, 0, width, height, height, height);
+        gc.setFill(checkBox.isSelected() ? SELECTED_COLOR : UNSELECTED_COLOR);
+        gc.fillRoundRect(1, 1, width - 2, height - 2, height - 2, height - 2);
+
+        gc.setFont(checkBox.getFont());
+        gc.setFill(TEXT_COLOR);
+        gc.setTextAlign(TextAlignment.CENTER);
+        gc.setTextBaseline(VPos.CENTER);
+        drawText(gc, checkBox.getCheckedText(), position,
+            (width - THUMB_WIDTH) / 2, height / 2);
+        drawText(gc, checkBox.getUncheckedText(), 1 - position,
+            (width + THUMB_WIDTH) / 2, height / 2);
+        gc.setGlobalAlpha(1);
+
+        final double halfWidth = (width - THUMB_WIDTH) / 2 - THUMB_PADDING;
+        final double thumbX = (width - THUMB_WIDTH) / 2
+            + halfWidth * (2 * position - 1);
+        final double thumbY = (height - THUMB_HEIGHT) / 2;
+
+        gc.setFill(THUMB_SHADOW_COLOR);
+        gc.fillOval(thumbX, thumbY + 2, THUMB_WIDTH, THUMB_HEIGHT);
+        gc.setFill(THUMB_COLOR);
+        gc.fillOval(thumbX, thumbY, THUMB_WIDTH, THUMB_HEIGHT);
+    }
+
+    private static void drawText(
+        GraphicsContext gc,
+        String text,
+        double opacity,
+        double x,
+        double y)
+    {
+        if (text != null && !text.isEmpty() && opacity > 0)
+        {
+            gc.setGlobalAlpha(opacity);
+            gc.fillText(text, x, y);
+        }
+    }
+
+    private void toggle()
+    {
+        final ToggleCheckBox checkBox = getToggleCheckBox();
+        final double position = checkBox.isSelected() ? 1 : 0;
+
+        if (checkBox.isAnimationSuppressed())
+        {
+            slide.snapTo(position);
+        }
+        else
+        {
+            slide.animateTo(position);
+        }
+    }
+}
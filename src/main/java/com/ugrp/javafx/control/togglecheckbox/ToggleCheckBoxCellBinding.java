@@ -0,0 +1,72 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * Binding of the {@link ToggleCheckBox} of a cell to the selection state of
+ * the shown item. A {@link BooleanProperty} state is bound bidirectionally,
+ * any other observable value is bound one way.
+ *
+ * @author Oleg Karelin
+ */
+final class ToggleCheckBoxCellBinding
+{
+    private final ToggleCheckBox toggleCheckBox;
+
+    private ObservableValue<Boolean> selectedState;
+
+    /**
+     * Creates a binding of the cell toggle.
+     *
+     * @param toggleCheckBox
+     *        the toggle of the cell.
+     */
+    ToggleCheckBoxCellBinding(
+        ToggleCheckBox toggleCheckBox)
+    {
+        this.toggleCheckBox = toggleCheckBox;
+    }
+
+    /**
+     * Rebinds the toggle to the selection state without slide animation if
+     * the state is changed.
+     *
+     * @param state
+     *        the selection state, or {@code null} to unbind the toggle.
+     */
+    void update(
+        ObservableValue<Boolean> state)
+    {
+        if (state != selectedState)
+        {
+            toggleCheckBox.runWithoutAnimation(() -> rebind(state));
+        }
+    }
+
+    private void rebind(
+        ObservableValue<Boolean> state)
+    {
+        final BooleanProperty selected = toggleCheckBox.selectedProperty();
+
+        if (selectedState instanceof BooleanProperty)
+        {
+            selected.unbindBidirectional((BooleanProperty) selectedState);
+        }
+        else if (selectedState != null)
+        {
+            selected.unbind();
+        }
+
+        selectedState = state;
+
+        if (state instanceof BooleanProperty)
+        {
+            selected.bindBidirectional((BooleanProperty) state);
+        }
+        else if (state != null)
+        {
+            selected.bind(state);
+        }
+    }
+}
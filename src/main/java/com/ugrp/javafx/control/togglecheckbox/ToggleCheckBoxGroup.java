@@ -0,0 +1,245 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import javafx.animation.AnimationTimer;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+
+/**
+ * Group of {@link ToggleCheckBox} controls which aggregates their selection
+ * changes. The changes made during one pulse are delivered to the listeners
+ * once, on the next pulse, as a single {@link ToggleCheckBoxGroupChange}
+ * with the indices of the changed toggles. Bulk changes of thousands of
+ * toggles therefore run the listeners once instead of once per toggle.
+ * <p>
+ * Each toggle keeps its index while it is in the group, the indices of
+ * removed toggles are not reused. The group should be used on the JavaFX
+ * application thread only.</p>
+ *
+ * @author Oleg Karelin
+ */
+public class ToggleCheckBoxGroup
+{
+    private final List<ToggleCheckBox> toggles = new ArrayList<>();
+
+    private final Map<ToggleCheckBox, Integer> indices =
+        new IdentityHashMap<>();
+
+    private final List<Consumer<? super ToggleCheckBoxGroupChange>> listeners =
+        new CopyOnWriteArrayList<>();
+
+    private final ChangeListener<Boolean> toggleListener =
+        this::toggleSelectionChanged;
+
+    /**
+     * Indices of the toggles changed since the last delivery.
+     */
+    private final BitSet changedIndices = new BitSet();
+
+    /**
+     * Selection state of the changed toggles before their first change since
+     * the last delivery.
+     */
+    private final BitSet previousSelection = new BitSet();
+
+    private final AnimationTimer deliveryTimer = new AnimationTimer()
+    {
+        @Override
+        public void handle(
+            long now)
+        {
+            flush();
+        }
+    };
+
+    private boolean deliveryScheduled;
+
+    /**
+     * Creates an empty group.
+     */
+    public ToggleCheckBoxGroup()
+    {
+    }
+
+    /**
+     * Adds the toggle to the group.
+     *
+     * @param toggle
+     *        the toggle.
+     * @return the index of the toggle in the group.
+     */
+    public int add(
+        ToggleCheckBox toggle)
+    {
+        Objects.requireNonNull(toggle, "toggle");
+
+        final Integer index = indices.get(toggle);
+        if (index != null)
+        {
+            return index;
+        }
+
+        final int newIndex = toggles.size();
+        toggles.add(toggle);
+        indices.put(toggle, newIndex);
+        toggle.selectedProperty().addListener(toggleListener);
+
+        return newIndex;
+    }
+
+    /**
+     * Removes the toggle from the group. Its pending change is not
+     * delivered.
+     *
+     * @param toggle
+     *        the toggle.
+     */
+    public void remove(
+        ToggleCheckBox toggle)
+    {
+        final Integer index = indices.remove(toggle);
+        if (index != null)
+        {
+            toggles.set(index, null);
+            toggle.selectedProperty().removeListener(toggleListener);
+            changedIndices.clear(index);
+        }
+    }
+
+    /**
+     * Gets the toggle with the specified index.
+     *
+     * @param index
+     *        the toggle index.
+     * @return the toggle, {@code null} if the toggle was removed.
+     */
+    public ToggleCheckBox getToggle(
+        int index)
+    {
+        return toggles.get(index);
+    }
+
+    /**
+     * Gets the index of the toggle in the group.
+     *
+     * @param toggle
+     *        the toggle.
+     * @return the toggle index, {@code -1} if the toggle is not in the group.
+     */
+    public int indexOf(
+        ToggleCheckBox toggle)
+    {
+        final Integer index = indices.get(toggle);
+
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Gets the number of the assigned indices, including the indices of the
+     * removed toggles.
+     *
+     * @return the number of the assigned indices.
+     */
+    public int size()
+    {
+        return toggles.size();
+    }
+
+    /**
+     * Adds the listener of the selection changes.
+     *
+     * @param listener
+     *        the listener.
+     */
+    public void addListener(
+        Consumer<? super ToggleCheckBoxGroupChange> listener)
+    {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+
+    /**
+     * Removes the listener of the selection changes.
+     *
+     * @param listener
+     *        the listener.
+     */
+    public void removeListener(
+        Consumer<? super ToggleCheckBoxGroupChange> listener)
+    {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Delivers the pending changes immediately instead of on the next pulse.
+     */
+    public void flush()
+    {
+        if (deliveryScheduled)
+        {
+            deliveryScheduled = false;
+            deliveryTimer.stop();
+        }
+
+        // Drops the toggles which have returned to their previous state.
+        for (int i = changedIndices.nextSetBit(0); i >= 0;
+            i = changedIndices.nextSetBit(i + 1))
+        {
+            if (toggles.get(i).isSelected() == previousSelection.get(i))
+            {
+                changedIndices.clear(i);
+            }
+        }
+
+        if (changedIndices.isEmpty())
+        {
+            return;
+        }
+
+        final ToggleCheckBoxGroupChange change = new ToggleCheckBoxGroupChange(
+            this, (BitSet) changedIndices.clone());
+        changedIndices.clear();
+        previousSelection.clear();
+
+        for (Consumer<? super ToggleCheckBoxGroupChange> listener : listeners)
+        {
+            listener.accept(change);
+        }
+    }
+
+    private void toggleSelectionChanged(
+        ObservableValue<? extends Boolean> observable,
+        Boolean oldValue,
+        Boolean newValue)
+    {
+        final ToggleCheckBox toggle = (ToggleCheckBox)
+            ((ReadOnlyProperty<?>) observable).getBean();
+        final Integer index = indices.get(toggle);
+        if (index == null)
+        {
+            return;
+        }
+
+        // A bound property may be invalidated without a change of its value,
+        // so the state before the first change is taken from the change.
+        if (!changedIndices.get(index))
+        {
+            changedIndices.set(index);
+            previousSelection.set(index, oldValue);
+        }
+
+        if (!deliveryScheduled)
+        {
+            deliveryScheduled = true;
+            deliveryTimer.start();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import java.util.BitSet;
+
+/**
+ * Selection changes of the toggles of a {@link ToggleCheckBoxGroup} made
+ * during one pulse. Toggles which were changed and returned to their
+ * previous state before the delivery are not reported.
+ *
+ * @author Oleg Karelin
+ */
+public final class ToggleCheckBoxGroupChange
+{
+    private final ToggleCheckBoxGroup group;
+
+    private final BitSet changedIndices;
+
+    ToggleCheckBoxGroupChange(
+        ToggleCheckBoxGroup group,
+        BitSet changedIndices)
+    {
+        this.group = group;
+        this.changedIndices = changedIndices;
+    }
+
+    /**
+     * Gets the group of the changed toggles.
+     *
+     * @return the group of the changed toggles.
+     */
+    public ToggleCheckBoxGroup getGroup()
+    {
+        return group;
+    }
+
+    /**
+     * Gets the indices of the changed toggles in the group.
+     *
+     * @return a copy of the indices of the changed toggles.
+     */
+    public BitSet getChangedIndices()
+    {
+        return (BitSet) changedIndices.clone();
+    }
+
+    /**
+     * Gets the number of the changed toggles.
+     *
+     * @return the number of the changed toggles.
+     */
+    public int getChangedCount()
+    {
+        return changedIndices.cardinality();
+    }
+
+    /**
+     * Determines if the toggle with the specified index was changed.
+     *
+     * @param index
+     *        the toggle index in the group.
+     * @return {@code true} if the toggle was changed.
+     */
+    public boolean isChanged(
+        int index)
+    {
+        return changedIndices.get(index);
+    }
+}
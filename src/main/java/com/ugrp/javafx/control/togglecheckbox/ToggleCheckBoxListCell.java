@@ -0,0 +1,221 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import java.util.Objects;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.util.Callback;
+import javafx.util.StringConverter;
+
+/**
+ * List cell which shows a {@link ToggleCheckBox} and the item text. The cell
+ * creates a single toggle and reuses it (with its skin) for all items it
+ * shows. The selection of the toggle is rebound to the item state in
+ * {@link #updateItem(Object, boolean)} without slide animation.
+ *
+ * @param <T>
+ *        the list item type.
+ * @author Oleg Karelin
+ */
+public class ToggleCheckBoxListCell<T>
+extends ListCell<T>
+{
+    private final ToggleCheckBox toggleCheckBox;
+
+    private final ObjectProperty<Callback<T, ObservableValue<Boolean>>>
+        selectedStateCallback;
+
+    private final ObjectProperty<StringConverter<T>> converter;
+
+    private final ToggleCheckBoxCellBinding binding;
+
+    /**
+     * Creates a list cell which shows a {@link ToggleCheckBox}.
+     *
+     * @param selectedStateCallback
+     *        callback which gets the selection state for the item.
+     */
+    public ToggleCheckBoxListCell(
+        Callback<T, ObservableValue<Boolean>> selectedStateCallback)
+    {
+        this(selectedStateCallback, null, null, null);
+    }
+
+    /**
+     * Creates a list cell which shows a {@link ToggleCheckBox} with specified
+     * text captions.
+     *
+     * @param selectedStateCallback
+     *        callback which gets the selection state for the item.
+     * @param converter
+     *        converter of the item to the cell text, or {@code null} to use
+     *        {@link Object#toString()}.
+     * @param checkedCaption
+     *        caption for control when control state is selected.
+     * @param uncheckedCaption
+     *        caption for control when control state is unselected.
+     */
+    public ToggleCheckBoxListCell(
+        Callback<T, ObservableValue<Boolean>> selectedStateCallback,
+        StringConverter<T> converter,
+        String checkedCaption,
+        String uncheckedCaption)
+    {
+        this.selectedStateCallback = new SimpleObjectProperty<>(
+            Objects.requireNonNull(selectedStateCallback));
+        this.converter = new SimpleObjectProperty<>(converter);
+
+        toggleCheckBox = new ToggleCheckBox(checkedCaption, uncheckedCaption);
+        toggleCheckBox.setVisible(false);
+        binding = new ToggleCheckBoxCellBinding(toggleCheckBox);
+
+        getStyleClass().add("toggle-check-box-list-cell");
+
+        setGraphic(toggleCheckBox);
+    }
+
+    /**
+     * Creates a cell factory for a list view.
+     *
+     * @param <T>
+     *        the list item type.
+     * @param selectedStateCallback
+     *        callback which gets the selection state for the item.
+     * @return the cell factory.
+     */
+    public static <T> Callback<ListView<T>, ListCell<T>> forListView(
+        Callback<T, ObservableValue<Boolean>> selectedStateCallback)
+    {
+        return list -> new ToggleCheckBoxListCell<>(selectedStateCallback);
+    }
+
+    /**
+     * Creates a cell factory for a list view.
+     *
+     * @param <T>
+     *        the list item type.
+     * @param selectedStateCallback
+     *        callback which gets the selection state for the item.
+     * @param converter
+     *        converter of the item to the cell text.
+     * @param checkedCaption
+     *        caption for controls when control state is selected.
+     * @param uncheckedCaption
+     *        caption for controls when control state is unselected.
+     * @return the cell factory.
+     */
+    public static <T> Callback<ListView<T>, ListCell<T>> forListView(
+        Callback<T, ObservableValue<Boolean>> selectedStateCallback,
+        StringConverter<T> converter,
+        String checkedCaption,
+        String uncheckedCaption)
+    {
+        return list -> new ToggleCheckBoxListCell<>(selectedStateCallback,
+            converter, checkedCaption, uncheckedCaption);
+    }
+
+    /**
+     * Gets the toggle shown by the cell.
+     *
+     * @return the toggle shown by the cell.
+     */
+    public ToggleCheckBox getToggleCheckBox()
+    {
+        return toggleCheckBox;
+    }
+
+    /**
+     * Gets the callback which gets the selection state for the item.
+     *
+     * @return the callback which gets the selection state for the item.
+     */
+    public Callback<T, ObservableValue<Boolean>> getSelectedStateCallback()
+    {
+        return selectedStateCallback.get();
+    }
+
+    /**
+     * Gets the callback which gets the selection state for the item.
+     *
+     * @return the callback which gets the selection state for the item.
+     */
+    public ObjectProperty<Callback<T, ObservableValue<Boolean>>>
+        selectedStateCallbackProperty()
+    {
+        return selectedStateCallback;
+    }
+
+    /**
+     * Sets the callback which gets the selection state for the item.
+     *
+     * @param selectedStateCallback
+     *        the callback which gets the selection state for the item.
+     */
+    public void setSelectedStateCallback(
+        Callback<T, ObservableValue<Boolean>> selectedStateCallback)
+    {
+        this.selectedStateCallback.set(selectedStateCallback);
+    }
+
+    /**
+     * Gets the converter of the item to the cell text.
+     *
+     * @return the converter of the item to the cell text.
+     */
+    public StringConverter<T> getConverter()
+    {
+        return converter.get();
+    }
+
+    /**
+     * Gets the converter of the item to the cell text.
+     *
+     * @return the converter of the item to the cell text.
+     */
+    public ObjectProperty<StringConverter<T>> converterProperty()
+    {
+        return converter;
+    }
+
+    /**
+     * Sets the converter of the item to the cell text.
+     *
+     * @param converter
+     *        the converter of the item to the cell text.
+     */
+    public void setConverter(
+        StringConverter<T> converter)
+    {
+        this.converter.set(converter);
+    }
+
+    @Override
+    protected void updateItem(
+        T item,
+        boolean empty)
+    {
+        super.updateItem(item, empty);
+
+        final ObservableValue<Boolean> state = empty ? null
+            : getSelectedStateCallback().call(item);
+        binding.update(state);
+
+        setText(empty ? null : toString(item));
+        toggleCheckBox.setVisible(!empty);
+    }
+
+    private String toString(
+        T item)
+    {
+        final StringConverter<T> itemConverter = getConverter();
+        if (itemConverter != null)
+        {
+            return itemConverter.toString(item);
+        }
+
+        return item == null ? "" : item.toString();
+    }
+}
@@ -0,0 +1,473 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyProperty;
+
+/**
+ * Selection model of a large collection of {@link ToggleCheckBox} flags
+ * backed by a primitive bit set. The model is the source of truth of the
+ * flags: only the toggles which are shown need to exist, each of them is
+ * bound to the index of its flag. Bound toggles follow the changes of the
+ * model and the user changes of a bound toggle are written to the model.
+ * The bound toggles are kept in arrays sorted by the flag index, so the
+ * model boxes neither the flags nor the indices.
+ * <p>
+ * The bulk operations work on whole 64-bit words; bound toggles are updated
+ * by {@link ToggleCheckBoxBulkSelection}, so only visible toggles are
+ * animated. The model should be used on the JavaFX application thread
+ * only.</p>
+ *
+ * @author Oleg Karelin
+ */
+public class ToggleCheckBoxSelectionModel
+{
+    private static final int ADDRESS_BITS_PER_WORD = 6;
+
+    private static final long WORD_MASK = 0xffffffffffffffffL;
+
+    private static final int INITIAL_BOUND_CAPACITY = 16;
+
+    private final int size;
+
+    private final long[] words;
+
+    /**
+     * Flag indices of the bound toggles in ascending order.
+     */
+    private int[] boundIndices = new int[INITIAL_BOUND_CAPACITY];
+
+    /**
+     * Bound toggles in the order of their flag indices.
+     */
+    private ToggleCheckBox[] boundToggles =
+        new ToggleCheckBox[INITIAL_BOUND_CAPACITY];
+
+    private int boundCount;
+
+    private final InvalidationListener toggleListener =
+        this::toggleSelectionChanged;
+
+    private boolean updating;
+
+    /**
+     * Creates a selection model with all flags unselected.
+     *
+     * @param size
+     *        the number of flags.
+     */
+    public ToggleCheckBoxSelectionModel(
+        int size)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException(
+                "size must not be negative: " + size);
+        }
+
+        this.size = size;
+
+        words = new long[(int) (((long) size + 63) >>> ADDRESS_BITS_PER_WORD)];
+    }
+
+    private static int wordIndex(
+        int index)
+    {
+        return index >> ADDRESS_BITS_PER_WORD;
+    }
+
+    /**
+     * Gets the number of flags.
+     *
+     * @return the number of flags.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Determines if the flag is selected.
+     *
+     * @param index
+     *        the flag index.
+     * @return {@code true} if the flag is selected.
+     */
+    public boolean isSelected(
+        int index)
+    {
+        Objects.checkIndex(index, size);
+
+        return (words[wordIndex(index)] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets the selection state of the flag. The toggle bound to the flag is
+     * changed with animation.
+     *
+     * @param index
+     *        the flag index.
+     * @param selected
+     *        the new selection state.
+     */
+    public void setSelected(
+        int index,
+        boolean selected)
+    {
+        Objects.checkIndex(index, size);
+
+        setBit(index, selected);
+
+        final ToggleCheckBox toggle = getToggle(index);
+        if (toggle != null)
+        {
+            updating = true;
+            try
+            {
+                toggle.setSelected(selected);
+            }
+            finally
+            {
+                updating = false;
+            }
+        }
+    }
+
+    private void setBit(
+        int index,
+        boolean selected)
+    {
+        if (selected)
+        {
+            words[wordIndex(index)] |= 1L << index;
+        }
+        else
+        {
+            words[wordIndex(index)] &= ~(1L << index);
+        }
+    }
+
+    /**
+     * Sets the selection state of the flags in the range.
+     *
+     * @param fromIndex
+     *        the index of the first flag, inclusive.
+     * @param toIndex
+     *        the index of the last flag, exclusive.
+     * @param selected
+     *        the new selection state.
+     */
+    public void setSelected(
+        int fromIndex,
+        int toIndex,
+        boolean selected)
+    {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+
+        if (fromIndex == toIndex)
+        {
+            return;
+        }
+
+        final int startWord = wordIndex(fromIndex);
+        final int endWord = wordIndex(toIndex - 1);
+        final long firstWordMask = WORD_MASK << fromIndex;
+        final long lastWordMask = WORD_MASK >>> -toIndex;
+
+        if (startWord == endWord)
+        {
+            applyMask(startWord, firstWordMask & lastWordMask, selected);
+        }
+        else
+        {
+            applyMask(startWord, firstWordMask, selected);
+            Arrays.fill(words, startWord + 1, endWord,
+                selected ? WORD_MASK : 0);
+            applyMask(endWord, lastWordMask, selected);
+        }
+
+        synchronizeToggles();
+    }
+
+    private void applyMask(
+        int wordIndex,
+        long mask,
+        boolean selected)
+    {
+        if (selected)
+        {
+            words[wordIndex] |= mask;
+        }
+        else
+        {
+            words[wordIndex] &= ~mask;
+        }
+    }
+
+    /**
+     * Sets the selection state of all flags.
+     *
+     * @param selected
+     *        the new selection state.
+     */
+    public void setAllSelected(
+        boolean selected)
+    {
+        setSelected(0, size, selected);
+    }
+
+    /**
+     * Gets the number of selected flags.
+     *
+     * @return the number of selected flags.
+     */
+    public int getSelectedCount()
+    {
+        int count = 0;
+        for (long word : words)
+        {
+            count += Long.bitCount(word);
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets a copy of the flags as 64-bit words. Flag {@code i} is bit
+     * {@code i % 64} of word {@code i / 64}, as in
+     * {@link java.util.BitSet#toLongArray()}.
+     *
+     * @return the flags as 64-bit words.
+     */
+    public long[] toLongArray()
+    {
+        return words.clone();
+    }
+
+    /**
+     * Sets all flags from 64-bit words. Flag {@code i} is bit {@code i % 64}
+     * of word {@code i / 64}, as in {@link java.util.BitSet#valueOf(long[])}.
+     * Missing words clear the flags, bits beyond the model size are ignored.
+     *
+     * @param source
+     *        the flags as 64-bit words.
+     */
+    public void setFromLongArray(
+        long[] source)
+    {
+        final int length = Math.min(source.length, words.length);
+        System.arraycopy(source, 0, words, 0, length);
+        Arrays.fill(words, length, words.length, 0);
+
+        if (size % 64 != 0 && words.length > 0)
+        {
+            words[words.length - 1] &= WORD_MASK >>> -size;
+        }
+
+        synchronizeToggles();
+    }
+
+    /**
+     * Binds the toggle to the flag. The toggle is set to the flag state
+     * without animation; a toggle already bound to the flag is unbound, the
+     * toggle is unbound from its previous flag.
+     *
+     * @param toggle
+     *        the toggle.
+     * @param index
+     *        the flag index.
+     */
+    public void bind(
+        ToggleCheckBox toggle,
+        int index)
+    {
+        Objects.checkIndex(index, size);
+
+        final int position = positionOf(toggle);
+        if (position >= 0 && boundIndices[position] == index)
+        {
+            return;
+        }
+
+        unbind(toggle);
+
+        final ToggleCheckBox previousToggle = getToggle(index);
+        if (previousToggle != null)
+        {
+            unbind(previousToggle);
+        }
+
+        insertBound(-position(index) - 1, index, toggle);
+
+        final boolean selected = isSelected(index);
+        toggle.runWithoutAnimation(() -> toggle.setSelected(selected));
+        toggle.selectedProperty().addListener(toggleListener);
+    }
+
+    /**
+     * Unbinds the toggle from its flag. Toggles which are not shown anymore
+     * should be unbound, the model keeps the bound toggles.
+     *
+     * @param toggle
+     *        the toggle.
+     */
+    public void unbind(
+        ToggleCheckBox toggle)
+    {
+        final int position = positionOf(toggle);
+        if (position >= 0)
+        {
+            removeBound(position);
+            toggle.selectedProperty().removeListener(toggleListener);
+        }
+    }
+
+    /**
+     * Gets the toggle bound to the flag.
+     *
+     * @param index
+     *        the flag index.
+     * @return the bound toggle, {@code null} if no toggle is bound.
+     */
+    public ToggleCheckBox getToggle(
+        int index)
+    {
+        final int position = position(index);
+
+        return position >= 0 ? boundToggles[position] : null;
+    }
+
+    /**
+     * Gets the index of the flag the toggle is bound to.
+     *
+     * @param toggle
+     *        the toggle.
+     * @return the flag index, {@code -1} if the toggle is not bound.
+     */
+    public int getIndex(
+        ToggleCheckBox toggle)
+    {
+        final int position = positionOf(toggle);
+
+        return position >= 0 ? boundIndices[position] : -1;
+    }
+
+    /**
+     * Gets the position of the toggle bound to the flag in the bound arrays.
+     *
+     * @param index
+     *        the flag index.
+     * @return the position, or {@code -(insertion point) - 1} if no toggle
+     *         is bound to the flag.
+     */
+    private int position(
+        int index)
+    {
+        return Arrays.binarySearch(boundIndices, 0, boundCount, index);
+    }
+
+    /**
+     * Gets the position of the toggle in the bound arrays. Only the shown
+     * toggles are bound, so the toggles are searched linearly.
+     *
+     * @param toggle
+     *        the toggle.
+     * @return the position, {@code -1} if the toggle is not bound.
+     */
+    private int positionOf(
+        ToggleCheckBox toggle)
+    {
+        for (int i = 0; i < boundCount; i++)
+        {
+            if (boundToggles[i] == toggle)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void insertBound(
+        int position,
+        int index,
+        ToggleCheckBox toggle)
+    {
+        if (boundCount == boundIndices.length)
+        {
+            boundIndices = Arrays.copyOf(boundIndices, 2 * boundCount);
+            boundToggles = Arrays.copyOf(boundToggles, 2 * boundCount);
+        }
+
+        System.arraycopy(boundIndices, position,
+            boundIndices, position + 1, boundCount - position);
+        System.arraycopy(boundToggles, position,
+            boundToggles, position + 1, boundCount - position);
+
+        boundIndices[position] = index;
+        boundToggles[position] = toggle;
+        boundCount++;
+    }
+
+    private void removeBound(
+        int position)
+    {
+        boundCount--;
+
+        System.arraycopy(boundIndices, position + 1,
+            boundIndices, position, boundCount - position);
+        System.arraycopy(boundToggles, position + 1,
+            boundToggles, position, boundCount - position);
+
+        boundToggles[boundCount] = null;
+    }
+
+    private void toggleSelectionChanged(
+        Observable observable)
+    {
+        if (updating)
+        {
+            return;
+        }
+
+        final ToggleCheckBox toggle = (ToggleCheckBox)
+            ((ReadOnlyProperty<?>) observable).getBean();
+        final int position = positionOf(toggle);
+        if (position >= 0)
+        {
+            setBit(boundIndices[position], toggle.isSelected());
+        }
+    }
+
+    /**
+     * Moves the bound toggles which differ from their flags to the flag
+     * state. Only the visible toggles up to the default cap of
+     * {@link ToggleCheckBoxBulkSelection} are animated.
+     */
+    private void synchronizeToggles()
+    {
+        final int maxAnimated =
+            ToggleCheckBoxBulkSelection.getDefaultMaxAnimated();
+        int animated = 0;
+
+        updating = true;
+        try
+        {
+            for (int i = 0; i < boundCount; i++)
+            {
+                if (ToggleCheckBoxBulkSelection.select(boundToggles[i],
+                    isSelected(boundIndices[i]), animated < maxAnimated))
+                {
+                    animated++;
+                }
+            }
+        }
+        finally
+        {
+            updating = false;
+        }
+    }
+}
@@ -1,28 +1,29 @@
 package com.ugrp.javafx.control.togglecheckbox;
 
-import com.sun.javafx.scene.control.behavior.ButtonBehavior;
-import com.sun.javafx.scene.control.skin.LabeledSkinBase;
-
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.Timeline;
-import javafx.beans.binding.Bindings;
-import javafx.beans.binding.DoubleBinding;
-import javafx.beans.binding.ObjectBinding;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
 import javafx.geometry.NodeOrientation;
+import javafx.scene.control.skin.CheckBoxSkin;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.scene.text.Text;
-import javafx.util.Duration;
 
 /**
- * Skin for {@link ToggleCheckBox} control.
+ * Skin for {@link ToggleCheckBox} control. The {@code box} of the check box
+ * skin is reused as the slider track: its mark is replaced by the captions and
+ * the thumb, and its size is set from the measured captions, so the check box
+ * skin computes the control size.
+ * <p>
+ * A caption node exists only while its caption is not empty, and it is
+ * visible only while the thumb does not fully cover its side of the
+ * track.</p>
  *
  * @author Oleg Karelin
  */
 class ToggleCheckBoxSkin
-extends LabeledSkinBase<ToggleCheckBox, ButtonBehavior<ToggleCheckBox>>
+extends CheckBoxSkin
 {
     private static final double BOX_HEIGHT = 32;
 
@@ -32,21 +33,30 @@ extends LabeledSkinBase<ToggleCheckBox, ButtonBehavior<ToggleCheckBox>>
 
     private static final double THUMB_PADDING = 4;
 
-    private static final double SLIDE_DURATION = 180;
-
     private final StackPane box;
 
-    private final DoubleBinding halfWidth;
-
     private Text checkedText;
 
     private Text uncheckedText;
 
     private Region thumb;
 
-    private ObjectBinding<Timeline> checkTimeline;
+    private SlideAnimation slide;
+
+    private final InvalidationListener selectedListener =
+        observable -> toggle();
+
+    private final WeakInvalidationListener weakSelectedListener =
+        new WeakInvalidationListener(selectedListener);
+
+    private final InvalidationListener captionListener =
+        observable -> updateCaptions();
 
-    private ObjectBinding<Timeline> uncheckTimeline;
+    private final WeakInvalidationListener weakCaptionListener =
+        new WeakInvalidationListener(captionListener);
+
+    private final InvalidationListener boxSizeListener =
+        observable -> updateBoxSize();
 
     /**
      * Creates skin for {@link ToggleCheckBox} control.
@@ -57,122 +67,151 @@ extends LabeledSkinBase<ToggleCheckBox, ButtonBehavior<ToggleCheckBox>>
     ToggleCheckBoxSkin(
         ToggleCheckBox slideBox)
     {
-        super(slideBox, new ButtonBehavior<>(slideBox));
-
-        box = new StackPane();
+        super(slideBox);
 
-        halfWidth = box.widthProperty().subtract(THUMB_WIDTH)
-            .divide(2).subtract(THUMB_PADDING);
+        box = findBox(this);
 
-        initGraphics(slideBox);
         initAnimations();
+        initGraphics();
         registerListeners();
     }
 
-    private void initGraphics(
-        ToggleCheckBox slideBox)
+    private void initGraphics()
     {
-        checkedText = new Text();
-        checkedText.textProperty().bind(slideBox.checkedTextProperty());
-        checkedText.getStyleClass().setAll("checked-text");
-        checkedText.setNodeOrientation(NodeOrientation.LEFT_TO_RIGHT);
-        checkedText.setTranslateX(-THUMB_WIDTH / 2);
-
-        uncheckedText = new Text();
-        uncheckedText.textProperty().bind(slideBox.uncheckedTextProperty());
-        uncheckedText.getStyleClass().setAll("unchecked-text");
-        uncheckedText.setNodeOrientation(NodeOrientation.RIGHT_TO_LEFT);
-        uncheckedText.setTranslateX(THUMB_WIDTH / 2);
-
         thumb = new Region();
         thumb.getStyleClass().setAll("thumb");
         thumb.setMinSize(THUMB_WIDTH, THUMB_HEIGHT);
         thumb.setPrefSize(THUMB_WIDTH, THUMB_HEIGHT);
         thumb.setMaxSize(THUMB_WIDTH, THUMB_HEIGHT);
 
-        box.getStyleClass().setAll("box");
-        box.getChildren().addAll(checkedText, uncheckedText, thumb);
+        box.getChildren().setAll(thumb);
 
-        updateChildren();
+        updateCaptions();
     }
 
-    private void initAnimations()
+    private void updateCaptions()
     {
-        checkTimeline = Bindings.createObjectBinding(
-            () -> createCheckTimeline(halfWidth.getValue()),
-            halfWidth);
+        final ToggleCheckBox checkBox = getToggleCheckBox();
 
-        uncheckTimeline = Bindings.createObjectBinding(
-            () -> createUncheckTimeline(halfWidth.getValue()),
-            halfWidth);
-    }
+        checkedText = updateCaption(checkedText, checkBox.getCheckedText(),
+            "checked-text", NodeOrientation.LEFT_TO_RIGHT, -THUMB_WIDTH / 2);
+        uncheckedText = updateCaption(uncheckedText,
+            checkBox.getUncheckedText(), "unchecked-text",
+            NodeOrientation.RIGHT_TO_LEFT, THUMB_WIDTH / 2);
 
-    private void registerListeners()
-    {
-        getSkinnable().selectedProperty().addListener(observable -> toggle());
+        updateBoxSize();
+        applyPosition(slide.getPosition());
     }
 
-    @Override
-    protected void updateChildren()
+    /**
+     * Creates, updates or removes the caption node.
+     *
+     * @param caption
+     *        the caption node, {@code null} if it is not created.
+     * @param text
+     *        the caption.
+     * @param styleClass
+     *        the style class of the caption node.
+     * @param orientation
+     *        the orientation of the caption node.
+     * @param translateX
+     *        the horizontal shift of the caption node from the box center.
+     * @return the caption node, {@code null} if the caption is empty.
+     */
+    private Text updateCaption(
+        Text caption,
+        String text,
+        String styleClass,
+        NodeOrientation orientation,
+        double translateX)
     {
-        super.updateChildren();
+        if (text == null || text.isEmpty())
+        {
+            if (caption != null)
+            {
+                caption.fontProperty().removeListener(boxSizeListener);
+                box.getChildren().remove(caption);
+            }
+
+            return null;
+        }
 
-        if (box != null)
+        Text result = caption;
+        if (result == null)
         {
-            getChildren().add(box);
+            result = new Text();
+            result.getStyleClass().setAll(styleClass);
+            result.setNodeOrientation(orientation);
+            result.setTranslateX(translateX);
+            result.fontProperty().addListener(boxSizeListener);
+
+            // Keeps the thumb above the captions.
+            box.getChildren().add(0, result);
         }
+
+        result.setText(text);
+
+        return result;
     }
 
-    @Override
-    protected double computeMinWidth(
-        double height,
-        double topInset,
-        double rightInset,
-        double bottomInset,
-        double leftInset)
+    /**
+     * Finds the {@code box} of the check box skin among the skin children.
+     *
+     * @param skin
+     *        the check box skin.
+     * @return the box of the check box skin.
+     */
+    static StackPane findBox(
+        CheckBoxSkin skin)
     {
-        return super.computeMinWidth(height, topInset, rightInset, bottomInset,
-            leftInset) + snapSize(box.minWidth(-1));
+        return skin.getChildren().stream()
+            .filter(StackPane.class::isInstance)
+            .filter(node -> node.getStyleClass().contains("box"))
+            .map(StackPane.class::cast)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException(
+                "CheckBoxSkin has no box"));
     }
 
-    @Override
-    protected double computeMinHeight(
-        double width,
-        double topInset,
-        double rightInset,
-        double bottomInset,
-        double leftInset)
+    private void initAnimations()
     {
-        return Math.max(
-            super.computeMinHeight(width - box.minWidth(-1), topInset,
-                rightInset, bottomInset, leftInset),
-            topInset + box.minHeight(-1) + bottomInset);
+        slide = new SlideAnimation(getToggleCheckBox(), this::applyPosition,
+            getToggleCheckBox().isSelected() ? 1 : 0);
     }
 
-    @Override
-    protected double computePrefWidth(
-        double height,
-        double topInset,
-        double rightInset,
-        double bottomInset,
-        double leftInset)
+    private ToggleCheckBox getToggleCheckBox()
+    {
+        return (ToggleCheckBox) getSkinnable();
+    }
+
+    private void registerListeners()
     {
-        return super.computePrefWidth(height, topInset, rightInset, bottomInset,
-            leftInset) + snapSize(box.prefWidth(-1) + THUMB_WIDTH - 2d);
+        final ToggleCheckBox checkBox = getToggleCheckBox();
+
+        checkBox.selectedProperty().addListener(weakSelectedListener);
+        checkBox.checkedTextProperty().addListener(weakCaptionListener);
+        checkBox.uncheckedTextProperty().addListener(weakCaptionListener);
+        box.insetsProperty().addListener(boxSizeListener);
     }
 
     @Override
-    protected double computePrefHeight(
-        double width,
-        double topInset,
-        double rightInset,
-        double bottomInset,
-        double leftInset)
+    public void dispose()
     {
-        return Math.max(
-            super.computePrefHeight(width - box.prefWidth(-1), topInset,
-                rightInset, bottomInset, leftInset),
-            topInset + box.prefHeight(-1) + bottomInset);
+        final ToggleCheckBox checkBox = getToggleCheckBox();
+        if (checkBox != null)
+        {
+            checkBox.selectedProperty().removeListener(weakSelectedListener);
+            checkBox.checkedTextProperty().removeListener(weakCaptionListener);
+            checkBox.uncheckedTextProperty()
+                .removeListener(weakCaptionListener);
+        }
+
+        box.insetsProperty().removeListener(boxSizeListener);
+        slide.stop();
+
+        getChildren().remove(box);
+
+        super.dispose();
     }
 
     @Override
@@ -182,104 +221,94 @@ extends LabeledSkinBase<ToggleCheckBox, ButtonBehavior<ToggleCheckBox>>
         final double w,
         final double h)
     {
-        final ToggleCheckBox checkBox = getSkinnable();
+        final LayoutEvent event = new LayoutEvent();
+        event.begin();
+
+        final ToggleCheckBox checkBox = getToggleCheckBox();
 
         final double computedWidth = Math.max(
             checkBox.prefWidth(-1), checkBox.minWidth(-1));
-        thumb.resize(THUMB_WIDTH, THUMB_HEIGHT);
-        box.resize(computedWidth, BOX_HEIGHT);
 
-        if (checkBox.isSelected())
+        // Nothing to do if the box size is not changed: the position is kept
+        // up to date by the slide animation.
+        final boolean resized =
+            computedWidth != box.getWidth() || BOX_HEIGHT != box.getHeight();
+        if (resized)
         {
-            uncheckedText.setOpacity(0);
-            thumb.setTranslateX(halfWidth.doubleValue());
+            thumb.resize(THUMB_WIDTH, THUMB_HEIGHT);
+            box.resize(computedWidth, BOX_HEIGHT);
+
+            applyPosition(slide.getPosition());
         }
-        else
+
+        event.end();
+        if (event.shouldCommit())
         {
-            checkedText.setOpacity(0);
-            thumb.setTranslateX(-halfWidth.doubleValue());
+            event.skinType = ToggleCheckBoxSkinType.NODES.name();
+            event.width = computedWidth;
+            event.resized = resized;
+            event.commit();
         }
     }
 
-    private void toggle()
+    private void updateBoxSize()
     {
-        if (getSkinnable().isSelected())
-        {
-            checkTimeline.getValue().play();
-        }
-        else
-        {
-            uncheckTimeline.getValue().play();
-        }
+        final Bounds checked = measure(checkedText);
+        final Bounds unchecked = measure(uncheckedText);
+        final Insets insets = box.getInsets();
+
+        final double width = insets.getLeft() + insets.getRight() + Math.max(
+            THUMB_WIDTH, Math.max(checked.getWidth(), unchecked.getWidth()));
+        final double height = insets.getTop() + insets.getBottom() + Math.max(
+            THUMB_HEIGHT, Math.max(checked.getHeight(), unchecked.getHeight()));
+
+        box.setMinSize(width, height);
+        box.setPrefSize(width + THUMB_WIDTH - 2d, height);
     }
 
-    private Timeline createCheckTimeline(
-        Double halfWidth)
+    private static Bounds measure(
+        Text caption)
     {
-        final KeyValue thumbStartTranslateCheckKeyValue = new KeyValue(
-            thumb.translateXProperty(), -halfWidth, Interpolator.EASE_BOTH);
-        final KeyValue thumbEndTranslateCheckKeyValue = new KeyValue(
-            thumb.translateXProperty(), halfWidth, Interpolator.EASE_BOTH);
-
-        final KeyValue checkedTextStartOpacityCheckKeyValue = new KeyValue(
-            checkedText.opacityProperty(), 0, Interpolator.EASE_BOTH);
-        final KeyValue checkTextEndOpacityCheckKeyValue = new KeyValue(
-            checkedText.opacityProperty(), 1, Interpolator.EASE_BOTH);
-
-        final KeyValue uncheckedTextStartOpacityCheckKeyValue = new KeyValue(
-            uncheckedText.opacityProperty(), 1, Interpolator.EASE_BOTH);
-        final KeyValue uncheckedTextEndOpacityCheckKeyValue = new KeyValue(
-            uncheckedText.opacityProperty(), 0, Interpolator.EASE_BOTH);
-
-        final KeyFrame kfStart = new KeyFrame(
-            Duration.ZERO,
-            thumbStartTranslateCheckKeyValue,
-            checkedTextStartOpacityCheckKeyValue,
-            uncheckedTextStartOpacityCheckKeyValue);
-        final KeyFrame kfEnd = new KeyFrame(
-            Duration.millis(SLIDE_DURATION),
-            thumbEndTranslateCheckKeyValue,
-            checkTextEndOpacityCheckKeyValue,
-            uncheckedTextEndOpacityCheckKeyValue);
-
-        final Timeline timeline = new Timeline();
-        timeline.getKeyFrames().setAll(kfStart, kfEnd);
-
-        return timeline;
+        return caption != null
+            ? TextMeasurer.measure(caption.getText(), caption.getFont())
+            : TextMeasurer.measure(null, null);
     }
 
-    private Timeline createUncheckTimeline(
-        Double halfWidth)
+    private void applyPosition(
+        double position)
     {
-        final KeyValue thumbStartTranslateUncheckKeyValue = new KeyValue(
-            thumb.translateXProperty(), halfWidth);
-        final KeyValue thumbEndTranslateUncheckKeyValue = new KeyValue(
-            thumb.translateXProperty(), -halfWidth);
-
-        final KeyValue checkedTextStartOpacityUncheckKeyValue = new KeyValue(
-            checkedText.opacityProperty(), 1);
-        final KeyValue checkedTextEndOpacityUncheckKeyValue = new KeyValue(
-            checkedText.opacityProperty(), 0);
-
-        final KeyValue uncheckedTextStartOpacityUncheckKeyValue = new KeyValue(
-            uncheckedText.opacityProperty(), 0);
-        final KeyValue uncheckedTextEndOpacityUncheckKeyValue = new KeyValue(
-            uncheckedText.opacityProperty(), 1);
-
-        final KeyFrame kfStart = new KeyFrame(
-            Duration.ZERO,
-            thumbStartTranslateUncheckKeyValue,
-            checkedTextStartOpacityUncheckKeyValue,
-            uncheckedTextStartOpacityUncheckKeyValue);
-        final KeyFrame kfEnd = new KeyFrame(
-            Duration.millis(SLIDE_DURATION),
-            thumbEndTranslateUncheckKeyValue,
-            checkedTextEndOpacityUncheckKeyValue,
-            uncheckedTextEndOpacityUncheckKeyValue);
-
-        final Timeline timeline = new Timeline();
-        timeline.getKeyFrames().setAll(kfStart, kfEnd);
-
-        return timeline;
+        final double halfWidth = (box.getWidth() - THUMB_WIDTH) / 2
+            - THUMB_PADDING;
+
+        thumb.setTranslateX(halfWidth * (2 * position - 1));
+        applyOpacity(checkedText, position);
+        applyOpacity(uncheckedText, 1 - position);
+    }
+
+    private static void applyOpacity(
+        Text caption,
+        double opacity)
+    {
+        if (caption != null)
+        {
+            // A transparent caption is not rendered and not picked.
+            caption.setOpacity(opacity);
+            caption.setVisible(opacity > 0);
+        }
+    }
+
+    private void toggle()
+    {
+        final ToggleCheckBox checkBox = getToggleCheckBox();
+        final double position = checkBox.isSelected() ? 1 : 0;
+
+        if (checkBox.isAnimationSuppressed())
+        {
+            slide.snapTo(position);
+        }
+        else
+        {
+            slide.animateTo(position);
+        }
     }
 }
@@ -0,0 +1,21 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+/**
+ * Type of the default skin of {@link ToggleCheckBox} controls.
+ *
+ * @author Oleg Karelin
+ */
+public enum ToggleCheckBoxSkinType
+{
+    /**
+     * Skin built from scene graph nodes which are styled by the control
+     * stylesheet.
+     */
+    NODES,
+
+    /**
+     * Lightweight skin which draws the whole toggle on a single canvas (see
+     * {@link ToggleCheckBoxCanvasSkin}).
+     */
+    CANVAS
+}
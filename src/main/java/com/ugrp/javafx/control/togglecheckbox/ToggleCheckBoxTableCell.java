@@ -0,0 +1,185 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+
+/**
+ * Table cell which shows a {@link ToggleCheckBox}. The cell creates a single
+ * toggle and reuses it (with its skin) for all rows it shows. The selection of
+ * the toggle is rebound to the row value in {@link #updateItem(Boolean,
+ * boolean)} without slide animation.
+ *
+ * @param <S>
+ *        the table item type.
+ * @author Oleg Karelin
+ */
+public class ToggleCheckBoxTableCell<S>
+extends TableCell<S, Boolean>
+{
+    private final ToggleCheckBox toggleCheckBox;
+
+    private final ObjectProperty<Callback<Integer, ObservableValue<Boolean>>>
+        selectedStateCallback;
+
+    private final ToggleCheckBoxCellBinding binding;
+
+    /**
+     * Creates a table cell which shows a {@link ToggleCheckBox}. The selection
+     * is bound to the cell observable value of the table column.
+     */
+    public ToggleCheckBoxTableCell()
+    {
+        this(null, null, null);
+    }
+
+    /**
+     * Creates a table cell which shows a {@link ToggleCheckBox} with specified
+     * text captions.
+     *
+     * @param selectedStateCallback
+     *        callback which gets the selection state for the row index, or
+     *        {@code null} to use the cell observable value of the table column.
+     * @param checkedCaption
+     *        caption for control when control state is selected.
+     * @param uncheckedCaption
+     *        caption for control when control state is unselected.
+     */
+    public ToggleCheckBoxTableCell(
+        Callback<Integer, ObservableValue<Boolean>> selectedStateCallback,
+        String checkedCaption,
+        String uncheckedCaption)
+    {
+        this.selectedStateCallback =
+            new SimpleObjectProperty<>(selectedStateCallback);
+
+        toggleCheckBox = new ToggleCheckBox(checkedCaption, uncheckedCaption);
+        toggleCheckBox.setVisible(false);
+        binding = new ToggleCheckBoxCellBinding(toggleCheckBox);
+
+        getStyleClass().add("toggle-check-box-table-cell");
+
+        setGraphic(toggleCheckBox);
+        setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+    }
+
+    /**
+     * Creates a cell factory for a table column.
+     *
+     * @param <S>
+     *        the table item type.
+     * @return the cell factory.
+     */
+    public static <S> Callback<TableColumn<S, Boolean>, TableCell<S, Boolean>>
+        forTableColumn()
+    {
+        return column -> new ToggleCheckBoxTableCell<>();
+    }
+
+    /**
+     * Creates a cell factory for a table column.
+     *
+     * @param <S>
+     *        the table item type.
+     * @param checkedCaption
+     *        caption for controls when control state is selected.
+     * @param uncheckedCaption
+     *        caption for controls when control state is unselected.
+     * @return the cell factory.
+     */
+    public static <S> Callback<TableColumn<S, Boolean>, TableCell<S, Boolean>>
+        forTableColumn(
+            String checkedCaption,
+            String uncheckedCaption)
+    {
+        return column -> new ToggleCheckBoxTableCell<>(
+            null, checkedCaption, uncheckedCaption);
+    }
+
+    /**
+     * Gets the toggle shown by the cell.
+     *
+     * @return the toggle shown by the cell.
+     */
+    public ToggleCheckBox getToggleCheckBox()
+    {
+        return toggleCheckBox;
+    }
+
+    /**
+     * Gets the callback which gets the selection state for the row index.
+     *
+     * @return the callback which gets the selection state for the row index.
+     */
+    public Callback<Integer, ObservableValue<Boolean>>
+        getSelectedStateCallback()
+    {
+        return selectedStateCallback.get();
+    }
+
+    /**
+     * Gets the callback which gets the selection state for the row index.
+     *
+     * @return the callback which gets the selection state for the row index.
+     */
+    public ObjectProperty<Callback<Integer, ObservableValue<Boolean>>>
+        selectedStateCallbackProperty()
+    {
+        return selectedStateCallback;
+    }
+
+    /**
+     * Sets the callback which gets the selection state for the row index.
+     *
+     * @param selectedStateCallback
+     *        the callback which gets the selection state for the row index.
+     */
+    public void setSelectedStateCallback(
+        Callback<Integer, ObservableValue<Boolean>> selectedStateCallback)
+    {
+        this.selectedStateCallback.set(selectedStateCallback);
+    }
+
+    @Override
+    protected void updateItem(
+        Boolean item,
+        boolean empty)
+    {
+        super.updateItem(item, empty);
+
+        final ObservableValue<Boolean> state = empty ? null : getState();
+        binding.update(state);
+
+        toggleCheckBox.setVisible(!empty);
+        toggleCheckBox.setDisable(!isCellEditable());
+    }
+
+    private ObservableValue<Boolean> getState()
+    {
+        final Callback<Integer, ObservableValue<Boolean>> callback =
+            getSelectedStateCallback();
+        if (callback != null)
+        {
+            return callback.call(getIndex());
+        }
+
+        final TableColumn<S, Boolean> column = getTableColumn();
+        return column == null ? null
+            : column.getCellObservableValue(getIndex());
+    }
+
+    private boolean isCellEditable()
+    {
+        final TableView<S> table = getTableView();
+        final TableColumn<S, Boolean> column = getTableColumn();
+
+        return isEditable()
+            && (table == null || table.isEditable())
+            && (column == null || column.isEditable());
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Java-FX controls: ToggleCheckBox and BreadCrumbsBar.
+ *
+ * @author Oleg Karelin
+ */
+module com.ugrp.javafx.control
+{
+    requires transitive javafx.controls;
+    requires jdk.jfr;
+
+    exports com.ugrp.javafx.control;
+    exports com.ugrp.javafx.control.breadcrumb;
+    exports com.ugrp.javafx.control.togglecheckbox;
+}
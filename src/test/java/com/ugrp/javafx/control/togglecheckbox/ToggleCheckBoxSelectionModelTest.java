@@ -0,0 +1,229 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javafx.application.Platform;
+
+/**
+ * Checks the range masks of {@link ToggleCheckBoxSelectionModel} against
+ * {@link BitSet} and the binding of the toggles to the flags.
+ *
+ * @author Oleg Karelin
+ */
+class ToggleCheckBoxSelectionModelTest
+{
+    private static final int SIZE = 200;
+
+    private static final int[] BOUNDARIES = { 0, 1, 63, 64, 65, 127, 128,
+        129, 191, 192, 199, 200 };
+
+    /**
+     * Starts the JavaFX toolkit.
+     *
+     * @throws InterruptedException
+     *         if the startup is interrupted.
+     */
+    @BeforeAll
+    static void startToolkit()
+        throws InterruptedException
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        try
+        {
+            Platform.startup(latch::countDown);
+        }
+        catch (IllegalStateException e)
+        {
+            // The toolkit is already started by another test.
+            latch.countDown();
+        }
+
+        latch.await();
+        Platform.setImplicitExit(false);
+    }
+
+    /**
+     * Selects and then clears every range between the word boundaries on a
+     * partly selected model and compares the flags with a bit set.
+     */
+    @Test
+    void rangesAtWordBoundaries()
+    {
+        for (int from : BOUNDARIES)
+        {
+            for (int to : BOUNDARIES)
+            {
+                if (from > to)
+                {
+                    continue;
+                }
+
+                for (boolean selected : new boolean[] { true, false })
+                {
+                    final ToggleCheckBoxSelectionModel model =
+                        new ToggleCheckBoxSelectionModel(SIZE);
+                    final BitSet expected = new BitSet(SIZE);
+                    for (int i = 0; i < SIZE; i += 3)
+                    {
+                        model.setSelected(i, true);
+                        expected.set(i);
+                    }
+
+                    model.setSelected(from, to, selected);
+                    expected.set(from, to, selected);
+
+                    final String range = from + ".." + to + " " + selected;
+                    assertArrayEquals(words(expected, SIZE),
+                        model.toLongArray(), range);
+                    assertEquals(expected.cardinality(),
+                        model.getSelectedCount(), range);
+                }
+            }
+        }
+    }
+
+    /**
+     * Selects all flags of the models which sizes end at and around a word
+     * boundary.
+     */
+    @Test
+    void allSelectedKeepsBitsBeyondSizeClear()
+    {
+        for (int size : new int[] { 0, 1, 63, 64, 65, 128, 130 })
+        {
+            final ToggleCheckBoxSelectionModel model =
+                new ToggleCheckBoxSelectionModel(size);
+            model.setAllSelected(true);
+
+            final BitSet expected = new BitSet(size);
+            expected.set(0, size);
+
+            assertArrayEquals(words(expected, size), model.toLongArray(),
+                "size " + size);
+            assertEquals(size, model.getSelectedCount(), "size " + size);
+        }
+    }
+
+    /**
+     * Sets the flags from the words which are longer and shorter than the
+     * model: the bits beyond the size are dropped, missing words clear the
+     * flags.
+     */
+    @Test
+    void setFromLongArrayTrimsToSize()
+    {
+        for (int size : new int[] { 0, 1, 63, 64, 65, 128, 130 })
+        {
+            final ToggleCheckBoxSelectionModel model =
+                new ToggleCheckBoxSelectionModel(size);
+
+            final long[] ones = new long[4];
+            Arrays.fill(ones, -1L);
+            model.setFromLongArray(ones);
+            assertEquals(size, model.getSelectedCount(), "size " + size);
+
+            final BitSet expected = new BitSet(size);
+            expected.set(0, size);
+            assertArrayEquals(words(expected, size), model.toLongArray(),
+                "size " + size);
+
+            model.setFromLongArray(new long[] { 0b101L });
+            expected.clear();
+            expected.set(0, Math.min(size, 1));
+            if (size > 2)
+            {
+                expected.set(2);
+            }
+
+            assertArrayEquals(words(expected, size), model.toLongArray(),
+                "size " + size);
+        }
+    }
+
+    /**
+     * Binds toggles out of the index order, rebinds them and changes the
+     * flags and the toggles in both directions.
+     *
+     * @throws Exception
+     *         if the JavaFX application thread fails.
+     */
+    @Test
+    void boundTogglesFollowTheFlags()
+        throws Exception
+    {
+        callOnFxThread(() -> {
+            final ToggleCheckBoxSelectionModel model =
+                new ToggleCheckBoxSelectionModel(SIZE);
+            model.setSelected(64, true);
+
+            final ToggleCheckBox[] toggles = new ToggleCheckBox[40];
+            for (int i = 0; i < toggles.length; i++)
+            {
+                toggles[i] = new ToggleCheckBox();
+                model.bind(toggles[i], (i * 37) % SIZE);
+            }
+
+            for (int i = 0; i < toggles.length; i++)
+            {
+                final int index = (i * 37) % SIZE;
+                assertSame(toggles[i], model.getToggle(index));
+                assertEquals(index, model.getIndex(toggles[i]));
+                assertEquals(model.isSelected(index), toggles[i].isSelected());
+            }
+
+            // Binding to a bound flag unbinds the previous toggle.
+            final ToggleCheckBox toggle = toggles[1];
+            model.bind(toggles[0], 37);
+            assertEquals(-1, model.getIndex(toggle));
+            assertNull(model.getToggle(0));
+            assertSame(toggles[0], model.getToggle(37));
+
+            model.setSelected(0, SIZE, true);
+            assertTrue(toggles[0].isSelected());
+            assertFalse(toggle.isSelected());
+
+            toggles[2].setSelected(false);
+            assertFalse(model.isSelected(74));
+
+            model.unbind(toggles[2]);
+            toggles[2].setSelected(true);
+            assertFalse(model.isSelected(74));
+            assertNull(model.getToggle(74));
+            return null;
+        });
+    }
+
+    /**
+     * Gets the words of the bit set padded to the word count of the model
+     * size.
+     */
+    private static long[] words(
+        BitSet bits,
+        int size)
+    {
+        return Arrays.copyOf(bits.toLongArray(), (size + 63) / 64);
+    }
+
+    private static <V> V callOnFxThread(
+        Callable<V> task)
+        throws Exception
+    {
+        final FutureTask<V> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        return future.get();
+    }
+}
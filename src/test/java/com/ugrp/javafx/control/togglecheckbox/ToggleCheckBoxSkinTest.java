@@ -0,0 +1,127 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.Skin;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+/**
+ * Checks that the skins of {@link ToggleCheckBox} replaced on a live control
+ * release their listeners and animations, so they can be garbage collected.
+ *
+ * @author Oleg Karelin
+ */
+class ToggleCheckBoxSkinTest
+{
+    private static final int SKINS = 50;
+
+    private static final int GC_ATTEMPTS = 20;
+
+    /**
+     * Starts the JavaFX toolkit.
+     *
+     * @throws InterruptedException
+     *         if the startup is interrupted.
+     */
+    @BeforeAll
+    static void startToolkit()
+        throws InterruptedException
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        try
+        {
+            Platform.startup(latch::countDown);
+        }
+        catch (IllegalStateException e)
+        {
+            // The toolkit is already started by another test.
+            latch.countDown();
+        }
+
+        latch.await();
+        Platform.setImplicitExit(false);
+    }
+
+    /**
+     * Replaces the skin of one toggle of a shown stage in a loop. The control
+     * ignores a new skin of the class of the current one, so the node and
+     * the canvas skins alternate. Each skin is laid out and starts a slide
+     * animation before it is replaced. The parent keeps its removed children
+     * until the next pulse, so the pulses run before each collection.
+     *
+     * @throws Exception
+     *         if the JavaFX application thread fails.
+     */
+    @Test
+    void replacedSkinsAreCollected()
+        throws Exception
+    {
+        final List<WeakReference<Skin<?>>> skins = new ArrayList<>();
+
+        final Stage stage = callOnFxThread(Stage::new);
+        final ToggleCheckBox toggle = callOnFxThread(() -> {
+            final ToggleCheckBox checkBox = new ToggleCheckBox("ON", "OFF");
+            final StackPane root = new StackPane(checkBox);
+            stage.setScene(new Scene(root));
+            stage.show();
+
+            for (int i = 0; i < SKINS; i++)
+            {
+                final Skin<?> skin = i % 2 == 0
+                    ? new ToggleCheckBoxSkin(checkBox)
+                    : new ToggleCheckBoxCanvasSkin(checkBox);
+                checkBox.setSkin(skin);
+                root.applyCss();
+                root.layout();
+
+                checkBox.setSelected(!checkBox.isSelected());
+                skins.add(new WeakReference<>(skin));
+            }
+
+            // Releases the last tested skin as well.
+            checkBox.setSkin(null);
+            return checkBox;
+        });
+
+        int alive = SKINS;
+        for (int i = 0; i < GC_ATTEMPTS && alive > 0; i++)
+        {
+            Thread.sleep(50);
+            callOnFxThread(() -> null);
+            System.gc();
+            alive = (int) skins.stream()
+                .filter(reference -> reference.get() != null)
+                .count();
+        }
+
+        assertEquals(0, alive, "replaced skins kept alive");
+
+        // Keeps the toggle reachable until the skins are checked.
+        assertEquals(toggle, callOnFxThread(() -> {
+            stage.hide();
+            return toggle;
+        }));
+    }
+
+    private static <V> V callOnFxThread(
+        Callable<V> task)
+        throws Exception
+    {
+        final FutureTask<V> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        return future.get();
+    }
+}
@@ -0,0 +1,123 @@
+package com.ugrp.javafx.control.togglecheckbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.ugrp.javafx.control.StylesheetMode;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.CheckBox;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+
+/**
+ * Checks that the stylesheet of {@link ToggleCheckBox} installed into a scene
+ * styles only the toggles of the scene.
+ *
+ * @author Oleg Karelin
+ */
+class ToggleCheckBoxStylesheetTest
+{
+    /**
+     * Starts the JavaFX toolkit.
+     *
+     * @throws InterruptedException
+     *         if the startup is interrupted.
+     */
+    @BeforeAll
+    static void startToolkit()
+        throws InterruptedException
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        try
+        {
+            Platform.startup(latch::countDown);
+        }
+        catch (IllegalStateException e)
+        {
+            // The toolkit is already started by another test.
+            latch.countDown();
+        }
+
+        latch.await();
+        Platform.setImplicitExit(false);
+    }
+
+    /**
+     * Restores the default stylesheet mode.
+     */
+    @AfterEach
+    void restoreStylesheetMode()
+    {
+        ToggleCheckBox.setStylesheetMode(StylesheetMode.USER_AGENT);
+    }
+
+    /**
+     * Puts a toggle and a plain check box into a scene with the installed
+     * toggle stylesheet. The box of the plain check box keeps the background
+     * of a check box in a scene without the stylesheet.
+     *
+     * @throws Exception
+     *         if the JavaFX application thread fails.
+     */
+    @Test
+    void sceneStylesheetKeepsPlainCheckBoxes()
+        throws Exception
+    {
+        ToggleCheckBox.setStylesheetMode(StylesheetMode.SCENE);
+
+        final Background expected = callOnFxThread(
+            () -> boxBackground(new CheckBox(), false));
+        final Background plain = callOnFxThread(
+            () -> boxBackground(new CheckBox(), true));
+        final Background toggle = callOnFxThread(
+            () -> boxBackground(new ToggleCheckBox("ON", "OFF"), true));
+
+        assertEquals(expected, plain, "plain check box restyled");
+        assertNotEquals(expected, toggle, "toggle not styled");
+    }
+
+    /**
+     * Puts the check box into a new scene and gets the background of its box
+     * after CSS is applied.
+     *
+     * @param checkBox
+     *        the check box.
+     * @param installed
+     *        {@code true} to install the toggle stylesheet into the scene.
+     * @return the background of the box.
+     */
+    private static Background boxBackground(
+        CheckBox checkBox,
+        boolean installed)
+    {
+        final VBox root = new VBox(checkBox);
+        final Scene scene = new Scene(root);
+        if (installed)
+        {
+            ToggleCheckBox.installStylesheet(scene);
+        }
+
+        root.applyCss();
+        return ((Region) checkBox.lookup(".box")).getBackground();
+    }
+
+    private static <V> V callOnFxThread(
+        Callable<V> task)
+        throws Exception
+    {
+        final FutureTask<V> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        return future.get();
+    }
+}